@@ -0,0 +1,87 @@
+package com.view.picker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Loading items and maintaining the item-width index, i.e. setItems and calcIntervalDis through the
+ * picker's own {@link LabelWidths}, {@link TextWidthCache} and {@link ItemWidthIndex}. Only the Paint
+ * measurement is replaced, by a fixed per-character advance.
+ */
+@State(Scope.Benchmark)
+public class ItemsBenchmark {
+    private static final int CHAR_WIDTH = 18;
+    private static final float TEXT_SIZE = 42;
+
+    private static final LabelWidths.Measurer MEASURER = new LabelWidths.Measurer() {
+        @Override
+        public int measure(String text) {
+            return text.length() * CHAR_WIDTH;
+        }
+    };
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private List<String> mItems;
+    private int[] mWidths;
+    private ItemWidthIndex mIndex;
+    private final WheelLayout mLayout = new WheelLayout();
+    // shared by the pickers of a WheelGroup, kept across invocations like across pickers
+    private final TextWidthCache mGroupCache = new TextWidthCache();
+    private Random mRandom;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mItems = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            mItems.add(String.valueOf(i * 1000L));
+        }
+        mWidths = LabelWidths.measure(new ListWheelAdapter(mItems), 0, size, TEXT_SIZE, null, MEASURER);
+        mIndex = new ItemWidthIndex();
+        mIndex.load(mWidths.clone(), size);
+        mRandom = new Random(42);
+    }
+
+    @Benchmark
+    public int setItems() {
+        return setItems(null);
+    }
+
+    @Benchmark
+    public int setItemsGrouped() {
+        return setItems(mGroupCache);
+    }
+
+    private int setItems(TextWidthCache cache) {
+        WheelAdapter adapter = new ListWheelAdapter(new ArrayList<>(mItems));
+        int count = adapter.getItemCount();
+        mLayout.setItemCount(count);
+        ItemWidthIndex index = new ItemWidthIndex();
+        index.load(LabelWidths.measure(adapter, 0, count, TEXT_SIZE, cache, MEASURER), count);
+        mLayout.setIntervalDis(index.max());
+        return index.max();
+    }
+
+    @Benchmark
+    public int calcIntervalDisFull() {
+        ItemWidthIndex index = new ItemWidthIndex();
+        index.load(mWidths.clone(), size);
+        return index.max();
+    }
+
+    @Benchmark
+    public int calcIntervalDisReplaceOne() {
+        int position = mRandom.nextInt(size);
+        mIndex.set(position, mRandom.nextInt(12) * CHAR_WIDTH);
+        return mIndex.max();
+    }
+}
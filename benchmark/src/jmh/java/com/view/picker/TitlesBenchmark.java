@@ -0,0 +1,60 @@
+package com.view.picker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * setTitles and the per-frame title lookup of the visible window.
+ */
+@State(Scope.Benchmark)
+public class TitlesBenchmark {
+    private static final int WINDOW = 17;
+    private static final int WINDOWS = 256;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private final HashMap<Integer, String> mTitles = new HashMap<>();
+    private final TitleIndex mIndex = new TitleIndex();
+    private final int[] mWindowStarts = new int[WINDOWS];
+
+    @Setup
+    public void setUp() {
+        // one section title every 25 items
+        for (int i = 0; i < size; i += 25) {
+            mTitles.put(i, "section " + i);
+        }
+        mIndex.replaceAll(mTitles);
+        Random random = new Random(42);
+        for (int i = 0; i < WINDOWS; i++) {
+            mWindowStarts[i] = random.nextInt(size - WINDOW);
+        }
+    }
+
+    @Benchmark
+    public int setTitles() {
+        TitleIndex index = new TitleIndex();
+        index.replaceAll(mTitles);
+        return index.size();
+    }
+
+    @Benchmark
+    public void titleLookup(Blackhole bh) {
+        int count = mIndex.size();
+        for (int w = 0; w < WINDOWS; w++) {
+            int start = mWindowStarts[w];
+            int slot = mIndex.ceilingSlot(start);
+            while (slot < count && mIndex.keyAt(slot) < start + WINDOW) {
+                bh.consume(mIndex.valueAt(slot));
+                slot++;
+            }
+        }
+    }
+}
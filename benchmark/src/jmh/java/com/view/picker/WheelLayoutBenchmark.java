@@ -0,0 +1,84 @@
+package com.view.picker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+
+/**
+ * Hit-testing and scroll bound computations run on every drag and fling frame:
+ * refreshCenter/safeCenter, the onScroll resistance and the onFling bounds, with equal and
+ * proportional spacing.
+ */
+@State(Scope.Benchmark)
+public class WheelLayoutBenchmark {
+    private static final int OFFSETS = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean proportional;
+
+    private final WheelLayout mLayout = new WheelLayout();
+    private final double[] mScrollOffsets = new double[OFFSETS];
+    private final float[] mDistances = new float[OFFSETS];
+
+    @Setup
+    public void setUp() {
+        mLayout.setItemCount(size);
+        mLayout.setIntervalDis(135f);
+        mLayout.setMaxOverScrollDistance(540f);
+        mLayout.setMinSelectableIndex(3);
+        mLayout.setMaxSelectableIndex(size - 3);
+        Random random = new Random(42);
+        if (proportional) {
+            float[] widths = new float[size];
+            for (int i = 0; i < size; i++) {
+                widths[i] = 45f + random.nextInt(90);
+            }
+            mLayout.setProportional(true);
+            mLayout.setSlotWidths(widths, size);
+        }
+        double min = mLayout.minScrollX() - 600;
+        double range = mLayout.maxScrollX() + 600 - min;
+        for (int i = 0; i < OFFSETS; i++) {
+            mScrollOffsets[i] = min + random.nextDouble() * range;
+            mDistances[i] = random.nextFloat() * 80 - 40;
+        }
+    }
+
+    @Benchmark
+    public void refreshCenter(Blackhole bh) {
+        for (int i = 0; i < OFFSETS; i++) {
+            bh.consume(mLayout.centerIndexAt(mScrollOffsets[i]));
+        }
+    }
+
+    @Benchmark
+    public void safeCenter(Blackhole bh) {
+        for (int i = 0; i < OFFSETS; i++) {
+            bh.consume(mLayout.safeCenter((int) (mScrollOffsets[i] / 100)));
+        }
+    }
+
+    @Benchmark
+    public void onScrollBounds(Blackhole bh) {
+        for (int i = 0; i < OFFSETS; i++) {
+            bh.consume(mLayout.dampScroll(mScrollOffsets[i], mDistances[i]));
+        }
+    }
+
+    @Benchmark
+    public void onFlingBounds(Blackhole bh) {
+        for (int i = 0; i < OFFSETS; i++) {
+            bh.consume(mLayout.canFling(mScrollOffsets[i]));
+            bh.consume(mLayout.minScrollX());
+            bh.consume(mLayout.maxScrollX());
+        }
+    }
+}
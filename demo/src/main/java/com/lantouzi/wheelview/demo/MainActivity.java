@@ -7,6 +7,7 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.lantouzi.wheelview.R;
 import com.view.picker.HorizontalWheelPicker;
+import com.view.picker.WheelGroup;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -30,6 +31,12 @@ public class MainActivity extends AppCompatActivity {
         mSelectedTv = findViewById(R.id.selected_tv);
         mChangedTv = findViewById(R.id.changed_tv);
 
+        // wheels 1, 4 and 5 show the same labels, the group measures them once
+        WheelGroup group = new WheelGroup();
+        group.add(mWheelView);
+        group.add(mWheelView4);
+        group.add(mWheelView5);
+
         final List<String> items = new ArrayList<>();
         for (int i = 1; i <= 50; i++) {
             items.add(String.valueOf(i * 1000));
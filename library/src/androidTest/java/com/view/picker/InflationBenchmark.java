@@ -0,0 +1,71 @@
+package com.view.picker;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.LayoutInflater;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.view.picker.library.test.R;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Inflates a screenful of pickers, as a settings list does on startup. Pickers styled through a
+ * style share one resolved {@link WheelStyle}; pickers with inline attributes resolve their own.
+ * <pre>
+ * ./gradlew :library:connectedAndroidTest -Pandroid.testInstrumentationRunnerArguments.class=com.view.picker.InflationBenchmark
+ * </pre>
+ */
+@RunWith(AndroidJUnit4.class)
+public class InflationBenchmark {
+    private static final int PICKERS = 30;
+
+    @Rule
+    public final BenchmarkRule mBenchmarkRule = new BenchmarkRule();
+
+    private LayoutInflater mInflater;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        mInflater = LayoutInflater.from(new ContextThemeWrapper(context, android.R.style.Theme_DeviceDefault_Light));
+        WheelStyle.clearCache();
+    }
+
+    @Test
+    public void inflateStyled() {
+        inflate(R.layout.benchmark_picker_styled);
+    }
+
+    @Test
+    public void inflateInline() {
+        inflate(R.layout.benchmark_picker_inline);
+    }
+
+    @Test
+    public void inflateStyled_firstPicker() {
+        BenchmarkState state = mBenchmarkRule.getState();
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            WheelStyle.clearCache();
+            state.resumeTiming();
+            mInflater.inflate(R.layout.benchmark_picker_styled, null, false);
+        }
+    }
+
+    private void inflate(int layout) {
+        BenchmarkState state = mBenchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (int i = 0; i < PICKERS; i++) {
+                mInflater.inflate(layout, null, false);
+            }
+        }
+    }
+}
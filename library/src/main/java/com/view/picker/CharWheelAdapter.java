@@ -0,0 +1,22 @@
+package com.view.picker;
+
+/**
+ * {@link WheelAdapter} that can write its labels into a caller owned buffer. The picker draws these
+ * labels straight from a reused {@code char[]} instead of asking {@link #getItem(int)} for a new
+ * {@link CharSequence} every frame.
+ */
+public interface CharWheelAdapter extends WheelAdapter {
+
+    /**
+     * @return upper bound of the length of any label
+     */
+    int getMaxLength();
+
+    /**
+     * Write the label of an item to the start of the buffer.
+     *
+     * @param buffer at least {@link #getMaxLength()} chars
+     * @return number of chars written
+     */
+    int getItemChars(int position, char[] buffer);
+}
@@ -0,0 +1,51 @@
+package com.view.picker;
+
+/**
+ * Exponential velocity decay, the feel of a fling. The decay rate is raised up to four times the
+ * friction so the motion comes to rest on its target; when the start velocity can't reach it, the
+ * velocity is raised instead.
+ */
+public class DecayPhysics extends ScrollPhysics {
+    public static final float DEFAULT_FRICTION = 3f;
+
+    private final float mFriction;
+    private double mRate;
+
+    public DecayPhysics() {
+        this(DEFAULT_FRICTION);
+    }
+
+    /**
+     * @param friction decay rate per second, a fling travels velocity / friction pixels
+     */
+    public DecayPhysics(float friction) {
+        mFriction = friction;
+    }
+
+    @Override
+    public double flingDistance(double velocity) {
+        return velocity / mFriction;
+    }
+
+    @Override
+    protected void onStart() {
+        double distance = mTarget - mPosition;
+        mRate = mFriction;
+        if (distance == 0) {
+            return;
+        }
+        if (mVelocity != 0 && (mVelocity > 0) == (distance > 0)) {
+            // decaying slower than the friction would drag the tail out, speed up instead
+            mRate = Math.max(mFriction, Math.min(mFriction * 4, mVelocity / distance));
+        }
+        mVelocity = distance * mRate;
+    }
+
+    @Override
+    protected void advance(float dt) {
+        // x(t) = target - d * e^(-rate * t), v(t) = rate * d * e^(-rate * t)
+        double decay = Math.exp(-mRate * dt);
+        mPosition = mTarget - (mTarget - mPosition) * decay;
+        mVelocity *= decay;
+    }
+}
@@ -0,0 +1,51 @@
+package com.view.picker;
+
+/**
+ * Constant deceleration, like an object sliding to a stop. The deceleration is adjusted within
+ * limits so the motion stops exactly on its target; when the start velocity can't reach it, the
+ * velocity is adjusted.
+ */
+public class FrictionPhysics extends ScrollPhysics {
+    public static final float DEFAULT_DECELERATION = 6000f;
+
+    private final float mDeceleration;
+    private double mRate;
+
+    public FrictionPhysics() {
+        this(DEFAULT_DECELERATION);
+    }
+
+    /**
+     * @param deceleration pixels per second squared, a fling travels velocity^2 / (2 * deceleration) pixels
+     */
+    public FrictionPhysics(float deceleration) {
+        mDeceleration = deceleration;
+    }
+
+    @Override
+    public double flingDistance(double velocity) {
+        return Math.signum(velocity) * velocity * velocity / (2 * mDeceleration);
+    }
+
+    @Override
+    protected void onStart() {
+        double distance = mTarget - mPosition;
+        mRate = mDeceleration;
+        if (distance == 0) {
+            return;
+        }
+        if (mVelocity != 0 && (mVelocity > 0) == (distance > 0)) {
+            double rate = mVelocity * mVelocity / (2 * Math.abs(distance));
+            mRate = Math.max(mDeceleration / 4, Math.min(mDeceleration * 4, rate));
+        }
+        mVelocity = Math.signum(distance) * Math.sqrt(2 * mRate * Math.abs(distance));
+    }
+
+    @Override
+    protected void advance(float dt) {
+        double speed = Math.max(0, Math.abs(mVelocity) - mRate * dt);
+        mVelocity = Math.signum(mVelocity) * speed;
+        // the remaining distance follows from the speed, v^2 = 2 * rate * remaining
+        mPosition = mTarget - Math.signum(mVelocity) * speed * speed / (2 * mRate);
+    }
+}
@@ -1,26 +1,32 @@
 package com.view.picker;
 
 import android.content.Context;
-import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.Rect;
-import android.graphics.RectF;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.text.TextPaint;
 import android.text.TextUtils;
 import android.util.AttributeSet;
-import android.util.TypedValue;
+import android.view.Choreographer;
+import android.view.Display;
 import android.view.GestureDetector;
+import android.view.KeyEvent;
 import android.view.MotionEvent;
 import android.view.SoundEffectConstants;
 import android.view.View;
-import android.widget.OverScroller;
+import android.view.animation.AnimationUtils;
 
 import androidx.core.view.GestureDetectorCompat;
 import androidx.core.view.ViewCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
 
 import com.view.picker.library.R;
 
@@ -29,6 +35,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Modified from https://github.com/lantouzi/WheelView-Android.
@@ -44,40 +51,157 @@ public class HorizontalWheelPicker extends View implements GestureDetector.OnGes
 
     private Paint mMarkPaint;
     private TextPaint mMarkTextPaint, mTitleTextPaint;
+    // measures item widths at the selected text size, independent of the size onDraw leaves behind
+    private TextPaint mMeasurePaint;
     private int mCenterIndex = -1;
 
     private int mHighlightColor, mItemNormalTextColor, mTitleTextColor;
     private int mMarkColor, mFadeMarkColor;
 
     private int mViewHeight;
-    private float mTitleTextHeight, mItemTextHeight;
-    private List<String> mItems;
-    private final Map<Integer, String> mItemTitleMap = new HashMap<>();
+    private float mTitleTextHeight, mTitleTextDescent, mItemTextHeight;
+    // font metrics resolved once per text size so onDraw doesn't allocate them
+    private final Paint.FontMetrics mFontMetrics = new Paint.FontMetrics();
+    private float mCenterTextDescent, mNormalTextDescent;
+    private WheelAdapter mAdapter;
+    // set when mAdapter can format labels into mCharBuffer, which onDraw then draws without allocating
+    private CharWheelAdapter mCharAdapter;
+    private char[] mCharBuffer;
+    private final ItemWidthIndex mWidthIndex = new ItemWidthIndex();
+    private final Rect mMeasureBounds = new Rect();
+    private int mHintWidth, mAdditionMarkWidth;
+    // widest label taken over from a restored state instead of measuring the items
+    private int mRestoredWidth;
+    private Executor mMeasureExecutor;
+    // background results come back through the main looper, View.post from another thread before
+    // attach is queued on that thread up to API 23 and never runs
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private WheelGroup mGroup;
+    // shared with the other members of mGroup, null outside a group
+    private TextWidthCache mWidthCache;
+    // whether mAdapter wraps a private copy made by setItems, which submitItems may modify
+    private boolean mOwnsItems;
+    private String mDataVersion;
+    // restored before the items arrived, applied by the next setAdapter
+    private SavedState mPendingRestore;
+    // items set before the first layout with a data version, measured at the first layout unless a
+    // state restored meanwhile supplies their widths
+    private boolean mMeasureDeferred;
+    private final PagedWheelAdapter.Callback mPageCallback = new PagedWheelAdapter.Callback() {
+        @Override
+        public void onPageLoaded(int start, int count) {
+            notifyItemRangeChanged(start, count);
+        }
+    };
+    private int mMeasureGeneration;
+    // a background measurement was started and hasn't landed yet
+    private boolean mMeasurePending;
+
+    // opt-in pre-rendered labels, null when disabled
+    private LabelCache mLabelCache;
+    private PrecomputedLabels mPrecomputedLabels;
+    private TextPaint mLabelRenderPaint;
+    private final Paint mLabelBitmapPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private final TitleIndex mOwnTitleIndex = new TitleIndex();
+    // the titles of a bound item source until they are edited, mOwnTitleIndex otherwise
+    private TitleIndex mTitleIndex = mOwnTitleIndex;
+    private WheelItemSource mSource;
+    private WheelPosition mBoundPosition;
     private String mAdditionCenterMark;
     private OnWheelItemSelectedListener mOnWheelItemSelectedListener;
+    private OnWheelItemPredictedListener mOnWheelItemPredictedListener;
+    private OnWheelItemChangedListener mOnWheelItemChangedListener;
+    private final ItemChangeDispatcher mChangeDispatcher = new ItemChangeDispatcher(new ItemChangeDispatcher.Target() {
+        @Override
+        public void dispatchItemChanged(int index, int skipped) {
+            if (null != mOnWheelItemSelectedListener) {
+                mOnWheelItemSelectedListener.onWheelItemChanged(HorizontalWheelPicker.this, index);
+            }
+            if (null != mOnWheelItemChangedListener) {
+                mOnWheelItemChangedListener.onWheelItemChanged(HorizontalWheelPicker.this, index, skipped);
+            }
+        }
+
+        @Override
+        public int distance(int from, int to) {
+            int count = mLayout.getItemCount();
+            int distance = Math.abs(to - from);
+            return mLayout.isLoop() && count > 0 ? Math.min(distance, count - distance) : distance;
+        }
+    });
     private float mIntervalFactor = DEFAULT_INTERVAL_FACTOR;
     private float mMarkRatio = DEFAULT_MARK_RATIO;
     private boolean mDrawMarks = false;
+    private final TickRenderer mTickRenderer = new TickRenderer();
+
+    // recorded strip tiles, null unless strip recording is enabled
+    private StripRecorder mStripRecorder;
+    private int mRecordedCenterIndex = -1;
 
-    private int mMarkCount;
     private final Path mCenterIndicatorPath = new Path();
     private float mTopIndexHeight;
-    private int mViewScopeSize;
 
     // scroll control args ---- start
-    private OverScroller mScroller;
-    private float mMaxOverScrollDistance;
-    private RectF mContentRectF;
+    private final WheelScroller mScroller = new WheelScroller();
+    private final WheelLayout mLayout = new WheelLayout();
+    // scroll offset with sub-pixel precision; the view's own scrollX stays 0 and onDraw translates by this.
+    // A double, a float steps by whole pixels or more far into a long list
+    private double mScrollPosition;
+    // content x drawn at the left edge of the view this frame; onDraw draws relative to it so the
+    // float coordinates passed to the canvas stay small
+    private double mDrawOrigin;
     private boolean mFling = false;
     private float mCenterTextSize, mNormalTextSize, mTitleTextSize;
-    private float mIntervalDis;
     private float mCenterMarkWidth, mMarkWidth;
     private GestureDetectorCompat mGestureDetectorCompat;
+    private WheelAccessibilityHelper mAccessibilityHelper;
     // scroll control args ---- end
 
     private int mLastSelectedIndex = -1;
-    private int mMinSelectableIndex = Integer.MIN_VALUE;
-    private int mMaxSelectableIndex = Integer.MAX_VALUE;
+    private boolean mDragging;
+
+    // what the last frame showed, to skip frames that would look the same
+    private static final float MIN_DRAW_DELTA = 1 / 16f;
+    private double mDrawnScrollPosition = Double.NaN;
+    private int mDrawnCenterIndex = -1;
+    private long mDrawCount;
+    private final Runnable mScrollStepRunnable = new Runnable() {
+        @Override
+        public void run() {
+            computeScroll();
+        }
+    };
+
+    // frame instrumentation, inactive while no listener is attached
+    private WheelMetricsListener mMetricsListener;
+    private WheelMetrics mMetrics;
+    private long mFrameIntervalNanos = 1000000000L / 60;
+    private long mLastFrameTimeNanos;
+    private boolean mFrameCallbackPosted;
+    private final Choreographer.FrameCallback mFrameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mFrameCallbackPosted = false;
+            if (mMetricsListener == null) {
+                mLastFrameTimeNanos = 0;
+                return;
+            }
+            if (mLastFrameTimeNanos > 0) {
+                long elapsed = frameTimeNanos - mLastFrameTimeNanos;
+                int dropped = (int) ((elapsed + mFrameIntervalNanos / 2) / mFrameIntervalNanos) - 1;
+                if (dropped > 0) {
+                    mMetrics.recordDroppedFrames(dropped);
+                }
+            }
+            if (mScroller.isFinished() && !mFling) {
+                mLastFrameTimeNanos = 0;
+            } else {
+                mLastFrameTimeNanos = frameTimeNanos;
+                mFrameCallbackPosted = true;
+                Choreographer.getInstance().postFrameCallback(this);
+            }
+        }
+    };
 
     public HorizontalWheelPicker(Context context) {
         super(context);
@@ -98,41 +222,23 @@ public class HorizontalWheelPicker extends View implements GestureDetector.OnGes
         mCenterMarkWidth = 0;
         mMarkWidth = 0;
 
-        mHighlightColor = 0xFF666666;
-        mItemNormalTextColor = 0x80666666;
-        mTitleTextColor = 0x80999999;
-        mMarkColor = 0xFFEEEEEE;
-        mTopIndexHeight = 0;
-
-        mCenterTextSize = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP,
-                HIGHLIGHT_SP_SIZE, getResources().getDisplayMetrics());
-
-        mNormalTextSize = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP,
-                NORMAL_SP_SIZE, getResources().getDisplayMetrics());
-
-        mTitleTextSize = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP,
-                TITLE_SP_SIZE, getResources().getDisplayMetrics());
-
-        TypedArray ta = attrs == null ? null : getContext().obtainStyledAttributes(attrs, R.styleable.HorizontalWheelPicker);
-        if (ta != null) {
-            mHighlightColor = ta.getColor(R.styleable.HorizontalWheelPicker_wpHighlightColor, mHighlightColor);
-            mItemNormalTextColor = ta.getColor(R.styleable.HorizontalWheelPicker_wpItemNormalTextColor, mItemNormalTextColor);
-            mMarkColor = ta.getColor(R.styleable.HorizontalWheelPicker_wpMarkColor, mMarkColor);
-            mIntervalFactor = ta.getFloat(R.styleable.HorizontalWheelPicker_wpIntervalFactor, mIntervalFactor);
-            mMarkRatio = ta.getFloat(R.styleable.HorizontalWheelPicker_wpMarkRatio, mMarkRatio);
-            mAdditionCenterMark = ta.getString(R.styleable.HorizontalWheelPicker_wpAdditionalCenterMark);
-            mCenterTextSize = ta.getDimension(R.styleable.HorizontalWheelPicker_wpItemSelectedTextSize, mCenterTextSize);
-            mNormalTextSize = ta.getDimension(R.styleable.HorizontalWheelPicker_wpItemNormalTextSize, mNormalTextSize);
-            mTopIndexHeight = ta.getDimension(R.styleable.HorizontalWheelPicker_wpCursorSize, mTopIndexHeight);
-            mTitleTextSize = ta.getDimension(R.styleable.HorizontalWheelPicker_wpTitleTextSize, mTitleTextSize);
-            mDrawMarks = ta.getBoolean(R.styleable.HorizontalWheelPicker_wpDrawHashMarks, mDrawMarks);
-            mTitleTextColor = ta.getColor(R.styleable.HorizontalWheelPicker_wpTitleTextColor, mTitleTextColor);
-            ta.recycle();
-        }
-        mNormalTextSize = Math.min(mNormalTextSize, mCenterTextSize);
-        mFadeMarkColor = mHighlightColor & 0xAAFFFFFF;
-        mIntervalFactor = Math.max(1, mIntervalFactor);
-        mMarkRatio = Math.min(1, mMarkRatio);
+        // resolved once per theme, style and density and shared with the other pickers
+        WheelStyle style = WheelStyle.obtain(getContext(), attrs);
+        mHighlightColor = style.highlightColor;
+        mItemNormalTextColor = style.itemNormalTextColor;
+        mTitleTextColor = style.titleTextColor;
+        mMarkColor = style.markColor;
+        mFadeMarkColor = style.fadeMarkColor;
+        mIntervalFactor = style.intervalFactor;
+        mMarkRatio = style.markRatio;
+        mAdditionCenterMark = style.additionCenterMark;
+        mCenterTextSize = style.centerTextSize;
+        mNormalTextSize = style.normalTextSize;
+        mTitleTextSize = style.titleTextSize;
+        mTopIndexHeight = style.topIndexHeight;
+        mDrawMarks = style.drawMarks;
+        mLayout.setLoop(style.loop);
+        mLayout.setProportional(style.proportional);
 
         mMarkPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         mMarkTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
@@ -143,68 +249,252 @@ public class HorizontalWheelPicker extends View implements GestureDetector.OnGes
         mTitleTextPaint.setTextAlign(Paint.Align.CENTER);
         mTitleTextPaint.setTextSize(mTitleTextSize);
         mTitleTextPaint.setColor(mTitleTextColor);
-        Paint.FontMetrics fm = mTitleTextPaint.getFontMetrics();
-        mTitleTextHeight = fm.descent - fm.ascent;
+        mTitleTextHeight = style.titleTextHeight;
+        mTitleTextDescent = style.titleTextDescent;
 
         mMarkPaint.setColor(mMarkColor);
         mMarkPaint.setStrokeWidth(mCenterMarkWidth);
 
+        mNormalTextDescent = style.normalTextDescent;
+        mCenterTextDescent = style.centerTextDescent;
+        mItemTextHeight = style.itemTextHeight;
         mMarkTextPaint.setTextSize(mCenterTextSize);
-        fm = mMarkTextPaint.getFontMetrics();
-        mItemTextHeight = fm.bottom - fm.top;
-        calcIntervalDis();
+        mMeasurePaint = new TextPaint(mMarkTextPaint);
+        // no items yet, the interval comes from the placeholder text
+        mHintWidth = style.defaultTextWidth;
+        mAdditionMarkWidth = style.additionMarkWidth;
+        updateIntervalDis();
 
-        mScroller = new OverScroller(getContext());
-        mContentRectF = new RectF();
-
-        mGestureDetectorCompat = new GestureDetectorCompat(getContext(), this);
+        mAccessibilityHelper = new WheelAccessibilityHelper(this, mLayout);
+        ViewCompat.setAccessibilityDelegate(this, mAccessibilityHelper);
 
         if (isInEditMode()) {
             ArrayList<String> preview = new ArrayList<>();
             for (int i = 0; i < 20; i++)
                 preview.add(String.format(Locale.ENGLISH, "%d", i));
             setItems(preview);
-            mItemTitleMap.put(0, "have");
-            mItemTitleMap.put(1, "a");
-            mItemTitleMap.put(3, "nice");
-            mItemTitleMap.put(4, "day");
+            mTitleIndex.put(0, "have");
+            mTitleIndex.put(1, "a");
+            mTitleIndex.put(3, "nice");
+            mTitleIndex.put(4, "day");
         }
 
-        selectIndex(0);
+        // nothing to post, onSizeChanged puts the center item under the indicator
+        mCenterIndex = 0;
     }
 
     /**
      * calculate distance between Interval Marks
      */
     private void calcIntervalDis() {
-        if (mMarkTextPaint == null) {
+        if (mMeasurePaint == null) {
             return;
         }
-        String defaultText = "888888";
-        Rect temp = new Rect();
-        int max = 0;
-        if (mItems != null && mItems.size() > 0) {
-            for (String i : mItems) {
-                mMarkTextPaint.getTextBounds(i, 0, i.length(), temp);
-                if (temp.width() > max) {
-                    max = temp.width();
+        String defaultText = WheelStyle.DEFAULT_TEXT;
+        mMeasureGeneration++;
+        mMeasurePending = false;
+        mMeasureDeferred = false;
+        mRestoredWidth = 0;
+        int itemCount = mLayout.getItemCount();
+        if (itemCount > 0) {
+            CharSequence hint = mAdapter.getWidthHint();
+            if (null != mSource) {
+                // measured once by the source, for every picker bound to it
+                mWidthIndex.clear();
+                if (null == mSource.peekWidths(mMeasurePaint.getTextSize()) && mMeasureExecutor != null) {
+                    mHintWidth = measureTextWidth(mMeasurePaint, defaultText, mMeasureBounds, mWidthCache);
+                    measureSourceAsync();
+                } else {
+                    mHintWidth = mSource.widths(mMeasurePaint).max;
                 }
+            } else if (hint != null) {
+                mWidthIndex.clear();
+                mHintWidth = measureTextWidth(mMeasurePaint, hint, mMeasureBounds, mWidthCache);
+            } else if (canReuseMeasurement(itemCount)) {
+                // the same items as before the state was saved, their widest label is already known
+                mWidthIndex.clear();
+                mRestoredWidth = mPendingRestore.measuredWidth;
+                mHintWidth = mRestoredWidth;
+            } else if (mMeasureExecutor != null) {
+                // keep a sane interval until the background measurement lands
+                mWidthIndex.clear();
+                mHintWidth = measureTextWidth(mMeasurePaint, defaultText, mMeasureBounds, mWidthCache);
+                measureItemsAsync();
+            } else {
+                mHintWidth = 0;
+                int[] widths = measureWidths(mMeasurePaint, mAdapter, 0, itemCount, mMeasureBounds, mWidthCache);
+                mWidthIndex.load(widths, itemCount);
             }
         } else {
-            mMarkTextPaint.getTextBounds(defaultText, 0, defaultText.length(), temp);
-            max = temp.width();
+            mWidthIndex.clear();
+            mHintWidth = measureTextWidth(mMeasurePaint, defaultText, mMeasureBounds, mWidthCache);
+        }
+        calcAdditionMarkWidth();
+        updateIntervalDis();
+        loadSlotWidths();
+    }
+
+    /**
+     * Lay out with the width of the placeholder text until {@link #measureDeferred()} runs.
+     */
+    private void deferMeasurement() {
+        if (mMeasurePaint == null) {
+            return;
+        }
+        mMeasureGeneration++;
+        mMeasurePending = false;
+        mRestoredWidth = 0;
+        mWidthIndex.clear();
+        mHintWidth = measureTextWidth(mMeasurePaint, WheelStyle.DEFAULT_TEXT, mMeasureBounds, mWidthCache);
+        calcAdditionMarkWidth();
+        updateIntervalDis();
+        loadSlotWidths();
+        mMeasureDeferred = true;
+    }
+
+    /**
+     * Measure items whose measurement was deferred, keeping the center item under the indicator.
+     */
+    private void measureDeferred() {
+        if (!mMeasureDeferred) {
+            return;
         }
+        double scrollX = mScrollPosition;
+        double centerScrollX = mLayout.scrollXOf(mCenterIndex);
+        float centerSlotWidth = mLayout.slotWidth(mCenterIndex);
+        calcIntervalDis();
+        keepCenter(scrollX, centerScrollX, centerSlotWidth);
+    }
+
+    private boolean canReuseMeasurement(int itemCount) {
+        SavedState restored = mPendingRestore;
+        return null != restored && null != mDataVersion && mDataVersion.equals(restored.dataVersion)
+                && itemCount == restored.itemCount && restored.measuredWidth > 0
+                && restored.textSize == mMeasurePaint.getTextSize() && !mLayout.isProportional();
+    }
+
+    private void calcAdditionMarkWidth() {
+        mAdditionMarkWidth = TextUtils.isEmpty(mAdditionCenterMark) ? 0
+                : measureTextWidth(mMeasurePaint, mAdditionCenterMark, mMeasureBounds, mWidthCache);
+    }
+
+    private void updateIntervalDis() {
+        int max = Math.max(mHintWidth, mWidthIndex.max());
+        mLayout.setIntervalDis(slotWidth(max));
+    }
+
+    private float slotWidth(int textWidth) {
+        return Math.max(1, (textWidth + mAdditionMarkWidth) * mIntervalFactor);
+    }
 
-        if (!TextUtils.isEmpty(mAdditionCenterMark)) {
-            mMarkTextPaint.getTextBounds(mAdditionCenterMark, 0, mAdditionCenterMark.length(), temp);
-            max += temp.width();
+    /**
+     * Rebuild the slots of proportional spacing from the measured widths. While only a width hint is
+     * known there are no per-item widths and the layout keeps the shared interval.
+     */
+    private void loadSlotWidths() {
+        if (!mLayout.isProportional()) {
+            return;
+        }
+        WheelItemSource.Widths measured = null == mSource ? null : mSource.peekWidths(mMeasurePaint.getTextSize());
+        int[] sourceWidths = null == measured ? null : measured.items;
+        int count = null == mSource ? mWidthIndex.size() : null == sourceWidths ? 0 : sourceWidths.length;
+        float[] widths = new float[count];
+        for (int i = 0; i < count; i++) {
+            widths[i] = slotWidth(null == sourceWidths ? mWidthIndex.get(i) : sourceWidths[i]);
         }
+        mLayout.setSlotWidths(widths, count);
+    }
+
+    private void measureItemsAsync() {
+        mMeasurePending = true;
+        final int generation = mMeasureGeneration;
+        final WheelAdapter adapter = mAdapter;
+        final int count = mLayout.getItemCount();
+        final TextPaint paint = new TextPaint(mMeasurePaint);
+        final TextWidthCache cache = mWidthCache;
+        mMeasureExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final int[] widths = measureWidths(paint, adapter, 0, count, new Rect(), cache);
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != mMeasureGeneration) {
+                            return;
+                        }
+                        mMeasurePending = false;
+                        // a drag or fling may be running, keep its offset within the center item
+                        double scrollX = mScrollPosition;
+                        double centerScrollX = mLayout.scrollXOf(mCenterIndex);
+                        float centerSlotWidth = mLayout.slotWidth(mCenterIndex);
+                        mHintWidth = 0;
+                        mWidthIndex.load(widths, count);
+                        updateIntervalDis();
+                        loadSlotWidths();
+                        keepCenter(scrollX, centerScrollX, centerSlotWidth);
+                        invalidate();
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Measure a bound source that wasn't measured at this text size yet, keeping the position in slot
+     * widths when the widths land.
+     */
+    private void measureSourceAsync() {
+        mMeasurePending = true;
+        final int generation = mMeasureGeneration;
+        final WheelItemSource source = mSource;
+        final TextPaint paint = new TextPaint(mMeasurePaint);
+        mMeasureExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final WheelItemSource.Widths widths = source.widths(paint);
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != mMeasureGeneration) {
+                            return;
+                        }
+                        mMeasurePending = false;
+                        double scrollX = mScrollPosition;
+                        double centerScrollX = mLayout.scrollXOf(mCenterIndex);
+                        float centerSlotWidth = mLayout.slotWidth(mCenterIndex);
+                        mHintWidth = widths.max;
+                        updateIntervalDis();
+                        loadSlotWidths();
+                        keepCenter(scrollX, centerScrollX, centerSlotWidth);
+                        invalidate();
+                    }
+                });
+            }
+        });
+    }
 
-        mIntervalDis = max * mIntervalFactor;
+    static int[] measureWidths(TextPaint paint, WheelAdapter adapter, int start, int count, Rect bounds,
+                               TextWidthCache cache) {
+        return LabelWidths.measure(adapter, start, count, paint.getTextSize(), cache, boundsMeasurer(paint, bounds));
+    }
+
+    static int measureTextWidth(TextPaint paint, CharSequence text, Rect bounds, TextWidthCache cache) {
+        return LabelWidths.measure(text, paint.getTextSize(), cache, boundsMeasurer(paint, bounds));
+    }
+
+    private static LabelWidths.Measurer boundsMeasurer(final TextPaint paint, final Rect bounds) {
+        return new LabelWidths.Measurer() {
+            @Override
+            public int measure(String text) {
+                paint.getTextBounds(text, 0, text.length(), bounds);
+                return bounds.width();
+            }
+        };
     }
 
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        measureDeferred();
         setMeasuredDimension(measureWidth(widthMeasureSpec), measureHeight(heightMeasureSpec));
     }
 
@@ -240,13 +530,17 @@ public class HorizontalWheelPicker extends View implements GestureDetector.OnGes
         return result;
     }
 
+    /**
+     * Fling and land exactly on the selectable item closest to where the fling would stop, in one animation.
+     */
     public void fling(int velocityX, int velocityY) {
-        mScroller.fling(getScrollX(), getScrollY(),
-                velocityX, velocityY,
-                (int) (-mMaxOverScrollDistance + mMinSelectableIndex * mIntervalDis), (int) (mContentRectF.width() - mMaxOverScrollDistance - (mMarkCount - 1 - mMaxSelectableIndex) * mIntervalDis),
-                0, 0,
-                (int) mMaxOverScrollDistance, 0);
+        int position = mLayout.positionAt(mScroller.predictFling(mScrollPosition, velocityX));
+        // the fling physics bend the motion so it ends on the item instead of starting a second settle animation
+        mScroller.fling(mScrollPosition, velocityX, mLayout.scrollXOf(position), animationTimeNanos());
         ViewCompat.postInvalidateOnAnimation(this);
+        if (null != mOnWheelItemPredictedListener) {
+            mOnWheelItemPredictedListener.onWheelItemPredicted(this, mLayout.wrap(position));
+        }
     }
 
     @Override
@@ -254,23 +548,34 @@ public class HorizontalWheelPicker extends View implements GestureDetector.OnGes
         super.onSizeChanged(w, h, oldw, oldh);
         if (w != oldw || h != oldh) {
             mViewHeight = h;
-            mMaxOverScrollDistance = w / 2.f;
-            mContentRectF.set(0, 0, (mMarkCount - 1) * mIntervalDis, h);
-            mViewScopeSize = (int) Math.ceil(mMaxOverScrollDistance / mIntervalDis);
+            double scrollX = mScrollPosition;
+            double centerScrollX = mLayout.scrollXOf(mCenterIndex);
+            float centerSlotWidth = mLayout.slotWidth(mCenterIndex);
+            mLayout.setMaxOverScrollDistance(w / 2.f);
+            // the first frame already shows the center item under the indicator
+            keepCenter(scrollX, centerScrollX, centerSlotWidth);
         }
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
+        long drawStart = mMetricsListener != null ? System.nanoTime() : 0;
+        mDrawCount++;
+        mDrawnScrollPosition = mScrollPosition;
+        mDrawnCenterIndex = mCenterIndex;
+        mDrawOrigin = Math.floor(mScrollPosition);
+        int saveCount = canvas.save();
+        canvas.translate((float) (mDrawOrigin - mScrollPosition), 0);
+        int drawOps = 1;
+        int visibleItems;
         int top = getPaddingTop();
-        int bottom = getPaddingBottom();
 
         mCenterIndicatorPath.reset();
         if (mTopIndexHeight > 0) {
             float sizeDiv2 = mTopIndexHeight / 2f;
             float sizeDiv3 = mTopIndexHeight / 3f;
-            mCenterIndicatorPath.moveTo(mMaxOverScrollDistance - sizeDiv2 + getScrollX(), top);
+            mCenterIndicatorPath.moveTo(mLayout.getMaxOverScrollDistance() - sizeDiv2 + (float) (mScrollPosition - mDrawOrigin), top);
             mCenterIndicatorPath.rLineTo(0, sizeDiv3);
             mCenterIndicatorPath.rLineTo(sizeDiv2, sizeDiv2);
             mCenterIndicatorPath.rLineTo(sizeDiv2, -sizeDiv2);
@@ -281,97 +586,403 @@ public class HorizontalWheelPicker extends View implements GestureDetector.OnGes
         mMarkPaint.setColor(mHighlightColor);
         canvas.drawPath(mCenterIndicatorPath, mMarkPaint);
 
-        int start = mCenterIndex - mViewScopeSize;
-        int end = mCenterIndex + mViewScopeSize + 1;
+        int markCount = mLayout.getItemCount();
+        int viewScopeSize = mLayout.getViewScopeSize();
+        if (mAdapter instanceof PagedWheelAdapter) {
+            prefetchPages((PagedWheelAdapter) mAdapter, viewScopeSize);
+        }
+        if (null != mPrecomputedLabels && null == mCharAdapter && null == mLabelCache) {
+            mPrecomputedLabels.prefetch(mAdapter, mCenterIndex, viewScopeSize * 2, mLayout.isLoop());
+        }
+        int start;
+        int end;
+        if (mLayout.isProportional()) {
+            // slots differ in width, search the offsets of the view edges instead
+            start = mLayout.firstVisiblePosition(mScrollPosition) - 1;
+            end = mLayout.lastVisiblePosition(mScrollPosition, getWidth()) + 2;
+        } else {
+            int centerPosition = mLayout.nearestPosition(mCenterIndex, mScrollPosition);
+            start = centerPosition - viewScopeSize;
+            end = centerPosition + viewScopeSize + 1;
+
+            if (!mLayout.isLoop()) {
+                start = Math.max(start, -viewScopeSize * 2);
+                end = Math.min(end, markCount + viewScopeSize * 2);
+
+                // extends both ends
+                if (mCenterIndex == mLayout.getMaxSelectableIndex()) {
+                    end += viewScopeSize;
+                } else if (mCenterIndex == mLayout.getMinSelectableIndex()) {
+                    start -= viewScopeSize;
+                }
+            }
+        }
 
-        start = Math.max(start, -mViewScopeSize * 2);
-        end = Math.min(end, mMarkCount + mViewScopeSize * 2);
+        // recorded tiles cover a fixed range of equally spaced positions, which a looping or
+        // proportionally spaced wheel doesn't have
+        if (mStripRecorder != null && !mLayout.isLoop() && !mLayout.isProportional() && StripRecorder.isSupported(canvas)) {
+            if (mRecordedCenterIndex != mCenterIndex) {
+                mStripRecorder.invalidateItem(mRecordedCenterIndex);
+                mStripRecorder.invalidateItem(mCenterIndex);
+                mRecordedCenterIndex = mCenterIndex;
+            }
+            drawOps += mStripRecorder.draw(canvas, mDrawOrigin, getWidth(), mViewHeight, mLayout.getIntervalDis(),
+                    -viewScopeSize * 3, markCount + viewScopeSize * 3);
+        } else {
+            drawOps += drawItems(canvas, start, end, mDrawOrigin);
+        }
+        visibleItems = mLayout.isLoop() ? Math.min(end - start, markCount)
+                : Math.max(0, Math.min(end, markCount) - Math.max(start, 0));
+        canvas.restoreToCount(saveCount);
 
-        // extends both ends
-        if (mCenterIndex == mMaxSelectableIndex) {
-            end += mViewScopeSize;
-        } else if (mCenterIndex == mMinSelectableIndex) {
-            start -= mViewScopeSize;
+        if (mMetricsListener != null) {
+            mMetrics.recordFrame(System.nanoTime() - drawStart, visibleItems, drawOps, getScrollState());
+            mMetricsListener.onFrameDrawn(this, mMetrics);
         }
+    }
 
-        float x = start * mIntervalDis;
+    /**
+     * Draw marks, labels and titles of the items in [start, end), at their content x minus originX.
+     *
+     * @return the number of draw calls issued
+     */
+    private int drawItems(Canvas canvas, int start, int end, double originX) {
+        int drawOps = 0;
+        int top = getPaddingTop();
+        int bottom = getPaddingBottom();
+        int markCount = mLayout.getItemCount();
+        int centerPosition = mLayout.nearestPosition(mCenterIndex, mScrollPosition);
+        boolean loop = mLayout.isLoop();
 
         float markHeight = mViewHeight - mCenterTextSize - top - bottom;
         // small scale Y offset
         float smallMarkShrinkY = markHeight * (1 - mMarkRatio) / 2f;
         smallMarkShrinkY = Math.min((markHeight - mMarkWidth) / 2f, smallMarkShrinkY);
 
+        if (mDrawMarks) {
+            drawOps += drawMarks(canvas, start, end, originX, centerPosition, top, markHeight, smallMarkShrinkY);
+        }
+
+        int titleSlot = mTitleIndex.ceilingSlot(start);
+        int titleCount = mTitleIndex.size();
         for (int i = start; i < end; i++) {
-            float subMark = mIntervalDis / 5f;
-            // offset: Small mark offset Big mark
-            if (mDrawMarks) {
-                for (int offset = -2; offset < 3; offset++) {
-                    float subX = x + offset * subMark;
-                    if (i >= 0 && i <= mMarkCount && mCenterIndex == i) {
-                        int tempOffset = Math.abs(offset);
-                        if (tempOffset == 0) {
-                            mMarkPaint.setColor(mHighlightColor);
-                        } else if (tempOffset == 1) {
-                            mMarkPaint.setColor(mFadeMarkColor);
+            // item text
+            float centerOffsetY = mCenterTextSize / 2f - mNormalTextSize / 2f;
+            float x = (float) (mLayout.xOf(i) - originX);
+            int item = mLayout.wrap(i);
+            if (markCount > 0 && item >= 0 && item < markCount) {
+                drawOps++;
+                if (mLabelCache != null) {
+                    drawCachedLabel(canvas, item, centerPosition == i, x, mViewHeight - bottom);
+                } else {
+                    // either a label from the adapter or chars formatted into mCharBuffer
+                    CharSequence itemStr = null;
+                    int length;
+                    if (null != mCharAdapter) {
+                        length = mCharAdapter.getItemChars(item, mCharBuffer);
+                    } else {
+                        itemStr = mAdapter.getItem(item);
+                        length = itemStr.length();
+                    }
+                    if (centerPosition == i) {
+                        mMarkTextPaint.setColor(mHighlightColor);
+                        mMarkTextPaint.setTextSize(mCenterTextSize);
+                        if (!TextUtils.isEmpty(mAdditionCenterMark)) {
+                            //draw item with additional text
+                            float additionalTextWidth = mMarkTextPaint.measureText(mAdditionCenterMark, 0, mAdditionCenterMark.length());
+                            float itemWidth = null == itemStr ? mMarkTextPaint.measureText(mCharBuffer, 0, length)
+                                    : mMarkTextPaint.measureText(itemStr, 0, length);
+                            drawItemText(canvas, itemStr, length, x - (additionalTextWidth) / 2, mViewHeight - bottom - mCenterTextDescent);
+                            mMarkTextPaint.setTextSize(mNormalTextSize);
+                            drawOps++;
+                            canvas.drawText(mAdditionCenterMark, x + itemWidth / 2, mViewHeight - bottom - mCenterTextDescent, mMarkTextPaint);
                         } else {
-                            mMarkPaint.setColor(mMarkColor);
+                            //draw item
+                            drawItemText(canvas, itemStr, length, x, mViewHeight - bottom - mCenterTextDescent);
                         }
                     } else {
-                        mMarkPaint.setColor(mMarkColor);
+                        //draw non-highlighted item
+                        mMarkTextPaint.setColor(mItemNormalTextColor);
+                        mMarkTextPaint.setTextSize(mNormalTextSize);
+                        drawItemText(canvas, itemStr, length, x, mViewHeight - bottom - centerOffsetY - mNormalTextDescent);
                     }
-
-                    if (offset == 0) {
-                        // main hash mark
-                        mMarkPaint.setStrokeWidth(mCenterMarkWidth);
-                        canvas.drawLine(subX, getPaddingTop(), subX, top + markHeight, mMarkPaint);
-                    } else {
-                        // sub hash mark
-                        mMarkPaint.setStrokeWidth(mMarkWidth);
-                        canvas.drawLine(subX, top + smallMarkShrinkY, subX, top + markHeight - smallMarkShrinkY, mMarkPaint);
+                }
+                if (loop) {
+                    // positions wrap around inside the window, look titles up instead
+                    String title = mTitleIndex.get(item);
+                    if (null != title) {
+                        drawOps++;
+                        canvas.drawText(title, x, mTitleTextHeight + top, mTitleTextPaint);
+                    }
+                } else {
+                    // titles are sorted by index, so only the ones inside the window are visited
+                    while (titleSlot < titleCount && mTitleIndex.keyAt(titleSlot) < i) {
+                        titleSlot++;
+                    }
+                    if (titleSlot < titleCount && mTitleIndex.keyAt(titleSlot) == i) {
+                        drawOps++;
+                        canvas.drawText(mTitleIndex.valueAt(titleSlot), x, mTitleTextHeight + top, mTitleTextPaint);
+                        titleSlot++;
                     }
                 }
             }
+        }
 
-            // item text
-            float centerOffsetY = mCenterTextSize / 2f - mNormalTextSize / 2f;
-            if (mMarkCount > 0 && i >= 0 && i < mMarkCount) {
-                CharSequence itemStr = mItems.get(i);
-                if (mCenterIndex == i) {
-                    mMarkTextPaint.setColor(mHighlightColor);
-                    mMarkTextPaint.setTextSize(mCenterTextSize);
-                    Paint.FontMetrics fm = mMarkTextPaint.getFontMetrics();
-                    if (!TextUtils.isEmpty(mAdditionCenterMark)) {
-                        //draw item with additional text
-                        float additionalTextWidth = mMarkTextPaint.measureText(mAdditionCenterMark, 0, mAdditionCenterMark.length());
-                        float itemWidth = mMarkTextPaint.measureText(itemStr, 0, itemStr.length());
-                        canvas.drawText(itemStr, 0, itemStr.length(), x - (additionalTextWidth) / 2, mViewHeight - bottom - fm.descent, mMarkTextPaint);
-                        mMarkTextPaint.setTextSize(mNormalTextSize);
-                        canvas.drawText(mAdditionCenterMark, x + itemWidth / 2, mViewHeight - bottom - fm.descent, mMarkTextPaint);
-                    } else {
-                        //draw item
-                        canvas.drawText(itemStr, 0, itemStr.length(), x, mViewHeight - bottom - fm.descent, mMarkTextPaint);
-                    }
+        return drawOps;
+    }
+
+    /**
+     * Draw an item label, from mCharBuffer when itemStr is null.
+     */
+    private void drawItemText(Canvas canvas, CharSequence itemStr, int length, float x, float y) {
+        if (null == itemStr) {
+            canvas.drawText(mCharBuffer, 0, length, x, y, mMarkTextPaint);
+        } else {
+            canvas.drawText(itemStr, 0, length, x, y, mMarkTextPaint);
+        }
+    }
+
+    /**
+     * Load the pages around the center ahead of time, further ahead in the direction of a fling.
+     */
+    private void prefetchPages(PagedWheelAdapter adapter, int viewScopeSize) {
+        float itemsPerSecond = 0;
+        float intervalDis = mLayout.getIntervalDis();
+        if (intervalDis > 0) {
+            itemsPerSecond = (float) (mScroller.getVelocity() / intervalDis);
+        }
+        adapter.prefetch(Math.max(mCenterIndex, 0), viewScopeSize * 2, itemsPerSecond);
+    }
+
+    private int getScrollState() {
+        if (!mScroller.isFinished()) {
+            return mFling ? WheelMetrics.STATE_FLINGING : WheelMetrics.STATE_SETTLING;
+        }
+        return mDragging ? WheelMetrics.STATE_DRAGGING : WheelMetrics.STATE_IDLE;
+    }
+
+    /**
+     * Hash marks of the items in [start, end), batched into one drawLines call per paint state.
+     *
+     * @return the number of draw calls issued
+     */
+    private int drawMarks(Canvas canvas, int start, int end, double originX, int centerPosition, int top,
+                          float markHeight, float smallMarkShrinkY) {
+        mTickRenderer.begin(end - start);
+        for (int i = start; i < end; i++) {
+            float x = (float) (mLayout.xOf(i) - originX);
+            float subMark = mLayout.slotWidth(i) / 5f;
+            boolean center = centerPosition == i;
+            // offset: Small mark offset Big mark
+            for (int offset = -2; offset < 3; offset++) {
+                float subX = x + offset * subMark;
+                if (offset == 0) {
+                    // main hash mark
+                    mTickRenderer.add(center ? TickRenderer.GROUP_MAJOR_HIGHLIGHT : TickRenderer.GROUP_MAJOR,
+                            subX, top, top + markHeight);
                 } else {
-                    //draw non-highlighted item
-                    mMarkTextPaint.setColor(mItemNormalTextColor);
-                    mMarkTextPaint.setTextSize(mNormalTextSize);
-                    Paint.FontMetrics fm = mMarkTextPaint.getFontMetrics();
-                    canvas.drawText(itemStr, 0, itemStr.length(), x, mViewHeight - bottom - centerOffsetY - fm.descent, mMarkTextPaint);
+                    // sub hash mark
+                    mTickRenderer.add(center && Math.abs(offset) == 1 ? TickRenderer.GROUP_MINOR_FADE : TickRenderer.GROUP_MINOR,
+                            subX, top + smallMarkShrinkY, top + markHeight - smallMarkShrinkY);
                 }
-                String title = mItemTitleMap.get(i);
-                if (title != null)
-                    canvas.drawText(title, x, mTitleTextHeight + top, mTitleTextPaint);
             }
-            x += mIntervalDis;
         }
+        return mTickRenderer.draw(canvas, mMarkPaint, TickRenderer.GROUP_MINOR, mMarkColor, mMarkWidth)
+                + mTickRenderer.draw(canvas, mMarkPaint, TickRenderer.GROUP_MAJOR, mMarkColor, mCenterMarkWidth)
+                + mTickRenderer.draw(canvas, mMarkPaint, TickRenderer.GROUP_MINOR_FADE, mFadeMarkColor, mMarkWidth)
+                + mTickRenderer.draw(canvas, mMarkPaint, TickRenderer.GROUP_MAJOR_HIGHLIGHT, mHighlightColor, mCenterMarkWidth);
+    }
+
+    private void drawCachedLabel(Canvas canvas, int index, boolean highlighted, float x, float textBottom) {
+        long key = LabelCache.key(index, highlighted);
+        int slot = mLabelCache.find(key);
+        if (slot < 0) {
+            renderLabel(key, index, highlighted);
+            slot = mLabelCache.find(key);
+            if (slot < 0) {
+                return;
+            }
+        }
+        mLabelBitmapPaint.setColor(highlighted ? mHighlightColor : mItemNormalTextColor);
+        canvas.drawBitmap(mLabelCache.bitmap(slot), x + mLabelCache.left(slot), textBottom + mLabelCache.top(slot), mLabelBitmapPaint);
+    }
+
+    /**
+     * Render a label into an alpha-only bitmap, so colors are applied at blit time and color changes
+     * don't invalidate the cache. Offsets are stored relative to the item x and the bottom of the text area.
+     */
+    private void renderLabel(long key, int index, boolean highlighted) {
+        if (mLabelRenderPaint == null) {
+            mLabelRenderPaint = new TextPaint(mMarkTextPaint);
+            mLabelRenderPaint.setColor(0xFF000000);
+        }
+        TextPaint paint = mLabelRenderPaint;
+        CharSequence itemStr = mAdapter.getItem(index);
+        paint.setTextSize(highlighted ? mCenterTextSize : mNormalTextSize);
+        Paint.FontMetrics fm = mFontMetrics;
+        paint.getFontMetrics(fm);
+        float itemWidth = paint.measureText(itemStr, 0, itemStr.length());
+        float itemX = 0;
+        float markX = 0;
+        float left = -itemWidth / 2;
+        float right = itemWidth / 2;
+        boolean withMark = highlighted && !TextUtils.isEmpty(mAdditionCenterMark);
+        if (withMark) {
+            float additionalTextWidth = paint.measureText(mAdditionCenterMark, 0, mAdditionCenterMark.length());
+            itemX = -additionalTextWidth / 2;
+            left = itemX - itemWidth / 2;
+            right = itemX + itemWidth / 2;
+            paint.setTextSize(mNormalTextSize);
+            float markWidth = paint.measureText(mAdditionCenterMark, 0, mAdditionCenterMark.length());
+            markX = itemWidth / 2;
+            left = Math.min(left, markX - markWidth / 2);
+            right = Math.max(right, markX + markWidth / 2);
+            paint.setTextSize(mCenterTextSize);
+        }
+        // leave room for glyph overhang beyond the advance width
+        float slack = (float) Math.ceil(paint.getTextSize() / 8f);
+        left = (float) Math.floor(left) - slack;
+        right = (float) Math.ceil(right) + slack;
+        int width = (int) (right - left);
+        int height = (int) Math.ceil(fm.bottom - fm.top);
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ALPHA_8);
+        Canvas canvas = new Canvas(bitmap);
+        canvas.drawText(itemStr, 0, itemStr.length(), itemX - left, -fm.top, paint);
+        if (withMark) {
+            paint.setTextSize(mNormalTextSize);
+            canvas.drawText(mAdditionCenterMark, markX - left, -fm.top, paint);
+        }
+        float baselineOffset = highlighted ? -fm.descent : -(mCenterTextSize / 2f - mNormalTextSize / 2f) - fm.descent;
+        mLabelCache.put(key, bitmap, left, baselineOffset + fm.top);
+    }
+
+    /**
+     * Enable drawing labels from pre-rendered bitmaps, evicted least recently used first.
+     *
+     * @param maxBytes memory budget of the cache, 0 to disable it
+     */
+    public void setLabelCacheSize(int maxBytes) {
+        mLabelCache = maxBytes > 0 ? new LabelCache(maxBytes) : null;
+        invalidate();
+    }
+
+    private void clearLabelCache() {
+        if (mLabelCache != null) {
+            mLabelCache.clear();
+        }
+        if (mPrecomputedLabels != null) {
+            mPrecomputedLabels.clear();
+        }
+        invalidateStrip();
+    }
+
+    private void invalidateStrip() {
+        if (mStripRecorder != null) {
+            mStripRecorder.invalidateAll();
+        }
+    }
+
+    /**
+     * Record the item strip into display list tiles and replay them while scrolling. Tiles are only
+     * re-recorded when the data, the style or the highlighted item changes.
+     */
+    public void setStripRecordingEnabled(boolean enabled) {
+        if (enabled && mStripRecorder == null) {
+            mStripRecorder = new StripRecorder(new StripRecorder.Painter() {
+                @Override
+                public int drawItems(Canvas canvas, int start, int end, double originX) {
+                    return HorizontalWheelPicker.this.drawItems(canvas, start, end, originX);
+                }
+            });
+            mRecordedCenterIndex = mCenterIndex;
+        } else if (!enabled) {
+            mStripRecorder = null;
+        }
+        invalidate();
+    }
+
+    public boolean isDrawMarks() {
+        return mDrawMarks;
+    }
+
+    public void setDrawMarks(boolean drawMarks) {
+        mDrawMarks = drawMarks;
+        invalidateStrip();
+        invalidate();
+    }
+
+    /**
+     * Attach a listener receiving draw timing, draw op counts and dropped frames of animations.
+     * Pass null to stop collecting, which removes all instrumentation overhead.
+     */
+    public void setMetricsListener(WheelMetricsListener listener) {
+        mMetricsListener = listener;
+        if (listener != null && mMetrics == null) {
+            mMetrics = new WheelMetrics();
+        }
+        if (listener == null && mFrameCallbackPosted) {
+            Choreographer.getInstance().removeFrameCallback(mFrameCallback);
+            mFrameCallbackPosted = false;
+            mLastFrameTimeNanos = 0;
+        }
+    }
+
+    /**
+     * @return the aggregate counters, or null if no metrics listener was ever attached
+     */
+    public WheelMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        Display display = getDisplay();
+        if (display != null && display.getRefreshRate() > 0) {
+            mFrameIntervalNanos = (long) (1000000000L / display.getRefreshRate());
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (mFrameCallbackPosted) {
+            Choreographer.getInstance().removeFrameCallback(mFrameCallback);
+            mFrameCallbackPosted = false;
+        }
+        mLastFrameTimeNanos = 0;
+        mChangeDispatcher.flush();
+    }
+
+    public void setHighlightColor(int highlightColor) {
+        mHighlightColor = highlightColor;
+        mFadeMarkColor = mHighlightColor & 0xAAFFFFFF;
+        invalidateStrip();
+        invalidate();
+    }
+
+    public void setItemNormalTextColor(int itemNormalTextColor) {
+        mItemNormalTextColor = itemNormalTextColor;
+        invalidateStrip();
+        invalidate();
     }
 
     @Override
     public boolean onTouchEvent(MotionEvent event) {
-        if (mItems == null || mItems.size() == 0 || !isEnabled()) {
+        if (mLayout.getItemCount() == 0 || !isEnabled()) {
             return false;
         }
+        if (null == mGestureDetectorCompat) {
+            // most pickers in a list are never touched
+            mGestureDetectorCompat = new GestureDetectorCompat(getContext(), this);
+        }
         boolean ret = mGestureDetectorCompat.onTouchEvent(event);
+        if (MotionEvent.ACTION_UP == event.getAction() || MotionEvent.ACTION_CANCEL == event.getAction()) {
+            mDragging = false;
+        }
         if (!mFling && MotionEvent.ACTION_UP == event.getAction()) {
             autoSettle();
             ret = true;
@@ -382,10 +993,15 @@ public class HorizontalWheelPicker extends View implements GestureDetector.OnGes
     @Override
     public void computeScroll() {
         super.computeScroll();
-        if (mScroller.computeScrollOffset()) {
-            scrollTo(mScroller.getCurrX(), mScroller.getCurrY());
-            refreshCenter();
-            invalidate();
+        if (mScroller.computeScrollOffset(animationTimeNanos())) {
+            if (mMetricsListener != null && !mFrameCallbackPosted) {
+                mFrameCallbackPosted = true;
+                Choreographer.getInstance().postFrameCallback(mFrameCallback);
+            }
+            if (!moveTo(mScroller.getPosition()) && isAttachedToWindow()) {
+                // moved too little to show, keep the animation going without drawing the same frame again
+                ViewCompat.postOnAnimation(this, mScrollStepRunnable);
+            }
         } else {
             if (mFling) {
                 mFling = false;
@@ -396,130 +1012,724 @@ public class HorizontalWheelPicker extends View implements GestureDetector.OnGes
 
     public void setAdditionCenterMark(String additionCenterMark) {
         mAdditionCenterMark = additionCenterMark;
-        calcIntervalDis();
+        clearLabelCache();
+        calcAdditionMarkWidth();
+        updateIntervalDis();
+        loadSlotWidths();
         invalidate();
     }
 
     private void autoSettle() {
-        int sx = getScrollX();
-        float dx = mCenterIndex * mIntervalDis - sx - mMaxOverScrollDistance;
-        mScroller.startScroll(sx, 0, (int) dx, 0);
-        postInvalidate();
+        double target = mLayout.scrollXOf(mLayout.nearestPosition(mCenterIndex, mScrollPosition));
+        if (target != mScrollPosition) {
+            mScroller.snap(mScrollPosition, target, animationTimeNanos());
+            if (mScroller.isFinished()) {
+                // closer than the physics bother to animate
+                moveTo(target);
+            } else {
+                ViewCompat.postInvalidateOnAnimation(this);
+            }
+        }
         if (mLastSelectedIndex != mCenterIndex) {
+            // the last change arrives before the selection
+            mChangeDispatcher.flush();
             mLastSelectedIndex = mCenterIndex;
+            if (null != mBoundPosition) {
+                mBoundPosition.index = mCenterIndex;
+                mBoundPosition.offset = 0;
+            }
             if (null != mOnWheelItemSelectedListener) {
                 mOnWheelItemSelectedListener.onWheelItemSelected(this, mCenterIndex);
             }
+            if (null != mGroup) {
+                mGroup.onMemberSelected(this);
+            }
+            mAccessibilityHelper.invalidateRoot();
         }
     }
 
     /**
-     * limit center index in bounds.
-     *
-     * @param center
-     * @return
+     * Animate to the item and report it as selected, like a tap on it.
      */
-    private int safeCenter(int center) {
-        if (center < mMinSelectableIndex) {
-            center = mMinSelectableIndex;
-        } else if (center > mMaxSelectableIndex) {
-            center = mMaxSelectableIndex;
+    void settleOn(int index) {
+        refreshCenter(mLayout.scrollXOf(index));
+        autoSettle();
+    }
+
+    @Override
+    protected boolean dispatchHoverEvent(MotionEvent event) {
+        return mAccessibilityHelper.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
+    }
+
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent event) {
+        return mAccessibilityHelper.dispatchKeyEvent(event) || super.dispatchKeyEvent(event);
+    }
+
+    @Override
+    protected void onFocusChanged(boolean gainFocus, int direction, Rect previouslyFocusedRect) {
+        super.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+        mAccessibilityHelper.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+    }
+
+    @Override
+    public boolean performAccessibilityAction(int action, Bundle arguments) {
+        if (isEnabled() && mLayout.getItemCount() > 0) {
+            if (action == AccessibilityNodeInfoCompat.ACTION_SCROLL_FORWARD) {
+                return mAccessibilityHelper.scrollPage(true);
+            } else if (action == AccessibilityNodeInfoCompat.ACTION_SCROLL_BACKWARD) {
+                return mAccessibilityHelper.scrollPage(false);
+            }
         }
-        return center;
+        return super.performAccessibilityAction(action, arguments);
     }
 
-    private void refreshCenter(int offsetX) {
-        int offset = (int) (offsetX + mMaxOverScrollDistance);
-        int tempIndex = Math.round(offset / mIntervalDis);
-        tempIndex = safeCenter(tempIndex);
+    private void refreshCenter(double offsetX) {
+        int tempIndex = mLayout.centerIndexAt(offsetX);
         if (mCenterIndex == tempIndex) {
             return;
         }
         mCenterIndex = tempIndex;
-        if (null != mOnWheelItemSelectedListener) {
-            mOnWheelItemSelectedListener.onWheelItemChanged(this, mCenterIndex);
+        invalidate();
+        mChangeDispatcher.onIndexChanged(mCenterIndex);
+    }
+
+    /**
+     * Scroll to the given offset and update the center.
+     *
+     * @return whether the view was invalidated, false if the frame would look the same
+     */
+    private boolean moveTo(double scrollPosition) {
+        mScrollPosition = scrollPosition;
+        if (mLayout.isLoop()) {
+            wrapScroll();
+        }
+        refreshCenter(mScrollPosition);
+        return invalidateIfChanged();
+    }
+
+    /**
+     * Move a looping wheel's scroll offset back into the first period, the content looks the same.
+     */
+    private void wrapScroll() {
+        int shift = mLayout.loopShift(mScrollPosition);
+        if (shift == 0) {
+            return;
         }
+        double dx = mLayout.xOf(shift);
+        mScrollPosition -= dx;
+        mDrawnScrollPosition -= dx;
+        mScroller.offset(-dx);
+    }
+
+    /**
+     * @return scroll offset with sub-pixel precision, in the coordinates of {@link View#getScrollX()}
+     */
+    double getScrollPosition() {
+        return mScrollPosition;
     }
 
-    private void refreshCenter() {
-        refreshCenter(getScrollX());
+    /**
+     * @return item geometry, for headless tests that pin the interval
+     */
+    WheelLayout getWheelLayout() {
+        return mLayout;
     }
 
+    private final Runnable mSelectIndexRunnable = new Runnable() {
+        @Override
+        public void run() {
+            moveTo(mLayout.scrollXOf(mCenterIndex));
+        }
+    };
+
     public void selectIndex(int index) {
         mCenterIndex = index;
-        post(new Runnable() {
-            @Override
-            public void run() {
-                scrollTo((int) (mCenterIndex * mIntervalDis - mMaxOverScrollDistance), 0);
-                invalidate();
-                refreshCenter();
-            }
-        });
+        removeCallbacks(mSelectIndexRunnable);
+        post(mSelectIndexRunnable);
     }
 
     public void smoothSelectIndex(int index) {
-        if (!mScroller.isFinished()) {
-            mScroller.abortAnimation();
+        double target = mLayout.scrollXOf(mLayout.nearestPosition(index, mScrollPosition));
+        if (target == mScrollPosition) {
+            return;
+        }
+        // the snap takes over the velocity of a running animation
+        mScroller.snap(mScrollPosition, target, animationTimeNanos());
+        if (mScroller.isFinished()) {
+            moveTo(target);
+        } else {
+            ViewCompat.postInvalidateOnAnimation(this);
+        }
+    }
+
+    /**
+     * Redraw unless the last frame already shows the current scroll offset and center.
+     *
+     * @return whether the view was invalidated
+     */
+    private boolean invalidateIfChanged() {
+        // NaN before the first frame compares as changed
+        if (!(Math.abs(mScrollPosition - mDrawnScrollPosition) < MIN_DRAW_DELTA) || mCenterIndex != mDrawnCenterIndex) {
+            invalidate();
+            return true;
+        }
+        return false;
+    }
+
+    private static long animationTimeNanos() {
+        return AnimationUtils.currentAnimationTimeMillis() * 1000000L;
+    }
+
+    /**
+     * Set the motion of flings, {@link DecayPhysics} by default. The physics must come to rest on the target
+     * passed to {@link ScrollPhysics#start(double, double, double)}, where the fling will land is predicted
+     * with {@link ScrollPhysics#flingDistance(double)}.
+     */
+    public void setFlingPhysics(ScrollPhysics physics) {
+        mScroller.setFlingPhysics(physics);
+    }
+
+    /**
+     * Set the motion that settles onto an item after drags, taps and {@link #smoothSelectIndex(int)},
+     * {@link SpringPhysics} by default.
+     */
+    public void setSnapPhysics(ScrollPhysics physics) {
+        mScroller.setSnapPhysics(physics);
+    }
+
+    /**
+     * @return number of times the picker has drawn itself, to compare the frames different interactions take
+     */
+    public long getDrawCount() {
+        return mDrawCount;
+    }
+
+    public boolean isLoop() {
+        return mLayout.isLoop();
+    }
+
+    /**
+     * Wrap around from the last item to the first one. The selectable range doesn't apply while looping.
+     */
+    public void setLoop(boolean loop) {
+        if (mLayout.isLoop() == loop) {
+            return;
+        }
+        mScroller.stop();
+        mLayout.setLoop(loop);
+        if (mLayout.getItemCount() > 0) {
+            selectIndex(mLayout.safeCenter(mCenterIndex));
+        }
+        invalidate();
+    }
+
+    public boolean isProportionalSpacing() {
+        return mLayout.isProportional();
+    }
+
+    /**
+     * Give every item a slot as wide as its own label instead of spacing all items by the widest one.
+     * Has no effect while the adapter supplies a width hint, as the labels aren't measured then.
+     */
+    public void setProportionalSpacing(boolean proportional) {
+        if (mLayout.isProportional() == proportional) {
+            return;
+        }
+        mScroller.stop();
+        mLayout.setProportional(proportional);
+        loadSlotWidths();
+        invalidateStrip();
+        if (mLayout.getItemCount() > 0) {
+            selectIndex(mCenterIndex);
         }
-        int deltaIndex = index - mCenterIndex;
-        mScroller.startScroll(getScrollX(), 0, (int) (deltaIndex * mIntervalDis), 0);
         invalidate();
     }
 
     public int getMinSelectableIndex() {
-        return mMinSelectableIndex;
+        return mLayout.getMinSelectableIndex();
     }
 
     public void setMinSelectableIndex(int minSelectableIndex) {
-        if (minSelectableIndex > mMaxSelectableIndex) {
-            minSelectableIndex = mMaxSelectableIndex;
-        }
-        mMinSelectableIndex = minSelectableIndex;
-        int afterCenter = safeCenter(mCenterIndex);
+        mLayout.setMinSelectableIndex(minSelectableIndex);
+        int afterCenter = mLayout.safeCenter(mCenterIndex);
         if (afterCenter != mCenterIndex) {
             selectIndex(afterCenter);
         }
     }
 
     public int getMaxSelectableIndex() {
-        return mMaxSelectableIndex;
+        return mLayout.getMaxSelectableIndex();
     }
 
     public void setMaxSelectableIndex(int maxSelectableIndex) {
-        if (maxSelectableIndex < mMinSelectableIndex) {
-            maxSelectableIndex = mMinSelectableIndex;
-        }
-        mMaxSelectableIndex = maxSelectableIndex;
-        int afterCenter = safeCenter(mCenterIndex);
+        mLayout.setMaxSelectableIndex(maxSelectableIndex);
+        int afterCenter = mLayout.safeCenter(mCenterIndex);
         if (afterCenter != mCenterIndex) {
             selectIndex(afterCenter);
         }
     }
 
+    /**
+     * @return the items set by {@link #setItems(List)}, or null if a custom adapter is used
+     */
     public List<String> getItems() {
-        return mItems;
+        return mAdapter instanceof ListWheelAdapter ? ((ListWheelAdapter) mAdapter).getItems() : null;
     }
 
+    /**
+     * Copies the given labels into a {@link ListWheelAdapter}. For large or computed ranges use
+     * {@link #setAdapter(WheelAdapter)} instead.
+     */
     public void setItems(List<String> items) {
-        if (mItems == null) {
-            mItems = new ArrayList<>();
+        setAdapter(new ListWheelAdapter(new ArrayList<>(items)));
+        mOwnsItems = true;
+    }
+
+    /**
+     * Update the items set by {@link #setItems(List)} to the given labels, notifying only the range
+     * between the common prefix and suffix of the old and new lists. The selected item keeps its
+     * position on screen. Falls back to {@link #setItems(List)} when a custom adapter is set.
+     */
+    public void submitItems(List<String> items) {
+        if (!mOwnsItems) {
+            setItems(items);
+            return;
+        }
+        List<String> current = ((ListWheelAdapter) mAdapter).getItems();
+        if (mMeasurePending) {
+            // a background task may still be reading the list, edit a copy and leave it that one
+            current = new ArrayList<>(current);
+            mAdapter = new ListWheelAdapter(current);
+        }
+        int oldSize = current.size();
+        int newSize = items.size();
+        int prefix = 0;
+        int maxCommon = Math.min(oldSize, newSize);
+        while (prefix < maxCommon && TextUtils.equals(current.get(prefix), items.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < maxCommon - prefix
+                && TextUtils.equals(current.get(oldSize - 1 - suffix), items.get(newSize - 1 - suffix))) {
+            suffix++;
+        }
+        int oldMiddle = oldSize - prefix - suffix;
+        int newMiddle = newSize - prefix - suffix;
+        int changed = Math.min(oldMiddle, newMiddle);
+        for (int i = prefix; i < prefix + changed; i++) {
+            current.set(i, items.get(i));
+        }
+        if (changed > 0) {
+            notifyItemRangeChanged(prefix, changed);
+        }
+        if (newMiddle > oldMiddle) {
+            current.addAll(prefix + changed, items.subList(prefix + changed, prefix + newMiddle));
+            notifyItemRangeInserted(prefix + changed, newMiddle - oldMiddle);
+        } else if (oldMiddle > newMiddle) {
+            current.subList(prefix + changed, prefix + oldMiddle).clear();
+            notifyItemRangeRemoved(prefix + changed, oldMiddle - newMiddle);
+        }
+    }
+
+    public WheelAdapter getAdapter() {
+        return mAdapter;
+    }
+
+    /**
+     * Set the data source. Only the items inside the visible window are queried while drawing.
+     */
+    public void setAdapter(WheelAdapter adapter) {
+        mSource = null;
+        mBoundPosition = null;
+        // titles of a source bound before belong to its items
+        mTitleIndex = mOwnTitleIndex;
+        applyAdapter(adapter);
+    }
+
+    private void applyAdapter(WheelAdapter adapter) {
+        if (mAdapter instanceof PagedWheelAdapter) {
+            ((PagedWheelAdapter) mAdapter).setCallback(null);
+        }
+        if (adapter instanceof PagedWheelAdapter) {
+            ((PagedWheelAdapter) adapter).setCallback(mPageCallback);
+        }
+        mAdapter = adapter;
+        mCharAdapter = adapter instanceof CharWheelAdapter ? (CharWheelAdapter) adapter : null;
+        if (null != mCharAdapter && (null == mCharBuffer || mCharBuffer.length < mCharAdapter.getMaxLength())) {
+            mCharBuffer = new char[mCharAdapter.getMaxLength()];
+        }
+        mOwnsItems = false;
+        mLayout.setItemCount(null == mAdapter ? 0 : mAdapter.getItemCount());
+        clearLabelCache();
+        if (null != mDataVersion && null == mSource && null == mPendingRestore && mLayout.getItemCount() > 0
+                && !ViewCompat.isLaidOut(this)) {
+            // set in onCreate, the state is usually restored before the first layout
+            deferMeasurement();
         } else {
-            mItems.clear();
+            calcIntervalDis();
         }
-        mItems.addAll(items);
-        mMarkCount = null == mItems ? 0 : mItems.size();
-        if (mMarkCount > 0) {
-            mMinSelectableIndex = Math.max(mMinSelectableIndex, 0);
-            mMaxSelectableIndex = Math.min(mMaxSelectableIndex, mMarkCount - 1);
+        mCenterIndex = Math.min(mCenterIndex, mLayout.getItemCount());
+        if (null != mPendingRestore && mLayout.getItemCount() > 0) {
+            SavedState restored = mPendingRestore;
+            mPendingRestore = null;
+            mCenterIndex = mLayout.safeCenter(restored.index);
+            restoreScrollPosition(restored.offset);
+        }
+        invalidate();
+    }
+
+    /**
+     * Show the items of a shared source at the given position, such as when a RecyclerView binds a
+     * row. The picker doesn't copy the items, and keeps the position up to date until
+     * {@link #unbind()} or another bind. Only the first bind of a source at a text size measures its
+     * items, on the {@link #setMeasureExecutor(Executor) measure executor} when one is set.
+     */
+    public void bind(WheelItemSource source, WheelPosition position) {
+        unbind();
+        mSource = source;
+        mBoundPosition = position;
+        mTitleIndex = source.titles();
+        invalidateStrip();
+        applyAdapter(source.getAdapter());
+        if (mLayout.getItemCount() > 0) {
+            mCenterIndex = mLayout.safeCenter(position.index);
+            restoreScrollPosition(position.offset);
+        }
+        mLastSelectedIndex = mCenterIndex;
+        invalidate();
+    }
+
+    /**
+     * Stop any scroll or animation in progress and save the position to the bound
+     * {@link WheelPosition}, such as when a RecyclerView recycles the row. The items stay shown.
+     */
+    public void unbind() {
+        mScroller.stop();
+        mFling = false;
+        mDragging = false;
+        removeCallbacks(mSelectIndexRunnable);
+        removeCallbacks(mScrollStepRunnable);
+        // a change held back by the dispatch policy belongs to the previous row
+        mChangeDispatcher.discard();
+        // a gesture in progress must not continue on the next bind
+        mGestureDetectorCompat = null;
+        if (null != mBoundPosition && mLayout.getItemCount() > 0) {
+            float slotWidth = mLayout.slotWidth(mCenterIndex);
+            mBoundPosition.index = mCenterIndex;
+            mBoundPosition.offset = slotWidth > 0 ? (float) ((mScrollPosition - mLayout.scrollXOf(mCenterIndex)) / slotWidth) : 0;
+        }
+        mBoundPosition = null;
+        mSource = null;
+    }
+
+    /**
+     * @return the titles to change, copied first if they still belong to a shared source
+     */
+    private TitleIndex editableTitles() {
+        if (mTitleIndex != mOwnTitleIndex) {
+            mOwnTitleIndex.copyFrom(mTitleIndex);
+            mTitleIndex = mOwnTitleIndex;
+        }
+        return mTitleIndex;
+    }
+
+    /**
+     * Re-measure only the given items after the adapter changed their labels in place. A pending
+     * background measurement is started again, and nothing is measured when the adapter supplies
+     * a width hint.
+     */
+    public void notifyItemRangeChanged(int positionStart, int itemCount) {
+        // whatever a background measurement read before the change is stale
+        mMeasureGeneration++;
+        // both caches cost at most their own size here, a page load or refresh of a huge list included
+        if (mLabelCache != null) {
+            mLabelCache.removeRange(positionStart, positionStart + itemCount);
+        }
+        if (mPrecomputedLabels != null) {
+            mPrecomputedLabels.removeRange(positionStart, positionStart + itemCount);
+        }
+        invalidateStrip();
+        int count = mLayout.getItemCount();
+        if (mWidthIndex.size() == count && count > 0) {
+            double scrollX = mScrollPosition;
+            double centerScrollX = mLayout.scrollXOf(mCenterIndex);
+            float centerSlotWidth = mLayout.slotWidth(mCenterIndex);
+            for (int i = positionStart; i < positionStart + itemCount; i++) {
+                int width = measureTextWidth(mMeasurePaint, mAdapter.getItem(i), mMeasureBounds, mWidthCache);
+                mWidthIndex.set(i, width);
+                mLayout.setSlotWidth(i, slotWidth(width));
+            }
+            updateIntervalDis();
+            keepCenter(scrollX, centerScrollX, centerSlotWidth);
+        } else if (mMeasurePending) {
+            calcIntervalDis();
         }
-        mContentRectF.set(0, 0, (mMarkCount - 1) * mIntervalDis, getMeasuredHeight());
-        mCenterIndex = Math.min(mCenterIndex, mMarkCount);
-        calcIntervalDis();
         invalidate();
     }
 
+    /**
+     * Apply items the adapter inserted at the given position, measuring only the new ones.
+     * The selection and scroll position stay on the same logical item.
+     */
+    public void notifyItemRangeInserted(int positionStart, int itemCount) {
+        mMeasureGeneration++;
+        int oldCount = mLayout.getItemCount();
+        double scrollX = mScrollPosition;
+        double centerScrollX = mLayout.scrollXOf(mCenterIndex);
+        float centerSlotWidth = mLayout.slotWidth(mCenterIndex);
+        boolean indexed = mWidthIndex.size() == oldCount && oldCount > 0;
+
+        // a bound at the last item stays at the last item, and so does the bound of an empty list
+        int min = mLayout.getMinSelectableIndex();
+        int max = mLayout.getMaxSelectableIndex();
+        if (min >= positionStart && min > 0) {
+            min += itemCount;
+        }
+        if (oldCount == 0) {
+            max = itemCount - 1;
+        } else if (max >= positionStart && max < oldCount || max == oldCount - 1) {
+            max += itemCount;
+        }
+        mLayout.setSelectableRange(Math.max(min, 0), max);
+        mLayout.setItemCount(oldCount + itemCount);
+        mChangeDispatcher.onItemRangeInserted(positionStart, itemCount);
+        if (mCenterIndex >= positionStart && oldCount > 0) {
+            mCenterIndex += itemCount;
+            if (mLastSelectedIndex >= positionStart) {
+                mLastSelectedIndex += itemCount;
+            }
+        }
+        editableTitles().shift(positionStart, itemCount);
+        clearLabelCache();
+
+        if (indexed) {
+            int[] widths = measureWidths(mMeasurePaint, mAdapter, positionStart, itemCount, mMeasureBounds, mWidthCache);
+            mWidthIndex.insert(positionStart, widths, itemCount);
+            updateIntervalDis();
+            loadSlotWidths();
+        } else {
+            calcIntervalDis();
+        }
+        if (oldCount == 0) {
+            selectIndex(mLayout.safeCenter(0));
+        } else {
+            keepCenter(scrollX, centerScrollX, centerSlotWidth);
+        }
+        invalidate();
+    }
+
+    /**
+     * Apply items the adapter removed at the given position without re-measuring the remaining ones.
+     * The selection stays on the same logical item, or moves to its nearest neighbour if it was removed.
+     */
+    public void notifyItemRangeRemoved(int positionStart, int itemCount) {
+        mMeasureGeneration++;
+        int oldCount = mLayout.getItemCount();
+        int newCount = oldCount - itemCount;
+        double scrollX = mScrollPosition;
+        double centerScrollX = mLayout.scrollXOf(mCenterIndex);
+        float centerSlotWidth = mLayout.slotWidth(mCenterIndex);
+        boolean indexed = mWidthIndex.size() == oldCount && oldCount > 0;
+        int positionEnd = positionStart + itemCount;
+
+        int min = shiftForRemoval(mLayout.getMinSelectableIndex(), positionStart, positionEnd);
+        int max = shiftForRemoval(mLayout.getMaxSelectableIndex(), positionStart, positionEnd);
+        if (newCount == 0 && mLayout.getMaxSelectableIndex() >= oldCount - 1) {
+            // nothing left to bound, the bound at the last item follows the next items set
+            mLayout.setSelectableRange(0, Integer.MAX_VALUE);
+        } else {
+            mLayout.setSelectableRange(Math.max(0, Math.min(min, newCount - 1)), Math.max(0, Math.min(max, newCount - 1)));
+        }
+        mLayout.setItemCount(newCount);
+        boolean centerRemoved = mCenterIndex >= positionStart && mCenterIndex < positionEnd;
+        mCenterIndex = mLayout.safeCenter(shiftForRemoval(mCenterIndex, positionStart, positionEnd));
+        mLastSelectedIndex = shiftForRemoval(mLastSelectedIndex, positionStart, positionEnd);
+        mChangeDispatcher.onItemRangeRemoved(positionStart, itemCount);
+        editableTitles().removeRange(positionStart, positionEnd);
+        clearLabelCache();
+
+        if (indexed && newCount > 0) {
+            mWidthIndex.remove(positionStart, itemCount);
+            updateIntervalDis();
+            loadSlotWidths();
+        } else {
+            calcIntervalDis();
+        }
+        if (centerRemoved) {
+            selectIndex(mCenterIndex);
+            if (newCount > 0) {
+                mChangeDispatcher.onIndexChanged(mCenterIndex);
+            }
+        } else {
+            keepCenter(scrollX, centerScrollX, centerSlotWidth);
+        }
+        invalidate();
+    }
+
+    static int shiftForRemoval(int index, int positionStart, int positionEnd) {
+        if (index >= positionEnd) {
+            return index == Integer.MAX_VALUE ? index : index - (positionEnd - positionStart);
+        }
+        // an index inside the removed range moves to the first item after it
+        return index >= positionStart ? positionStart : index;
+    }
+
+    /**
+     * Scroll so the center item stays under the indicator with the same sub-item offset it had
+     * before an update, also shifting a running fling or settle animation.
+     */
+    private void keepCenter(double oldScrollX, double oldCenterScrollX, float oldSlotWidth) {
+        double offset = oldScrollX - oldCenterScrollX;
+        if (oldSlotWidth > 0) {
+            offset = offset * mLayout.slotWidth(mCenterIndex) / oldSlotWidth;
+        }
+        double scrollX = mLayout.scrollXOf(mCenterIndex) + offset;
+        if (scrollX != oldScrollX) {
+            mScroller.offset(scrollX - oldScrollX);
+            mScrollPosition = scrollX;
+            invalidate();
+        }
+    }
+
+    /**
+     * @return the group this picker was added to, null if none
+     */
+    public WheelGroup getGroup() {
+        return mGroup;
+    }
+
+    void setGroup(WheelGroup group) {
+        mGroup = group;
+        mWidthCache = null == group ? null : group.getWidthCache();
+    }
+
+    /**
+     * Measure item widths of bulk loads on the given executor instead of the UI thread.
+     * The adapter must then be safe to read from that executor. Pass null to measure synchronously.
+     */
+    public void setMeasureExecutor(Executor executor) {
+        mMeasureExecutor = executor;
+    }
+
+    /**
+     * Shape the labels around the selection on the given executor ahead of scrolling. Drawing doesn't
+     * use the precomputed text itself; it finds the shaping of complex scripts and emoji in the
+     * platform's text layout cache, unless that cache evicted it in the meantime. Labels are read on the
+     * UI thread, the executor only shapes them.
+     * Not used with a {@link CharWheelAdapter} or while label bitmaps are cached. Pass null to stop.
+     */
+    public void setTextPrecomputeExecutor(Executor executor) {
+        if (null == executor) {
+            mPrecomputedLabels = null;
+            return;
+        }
+        TextPaint normalPaint = new TextPaint(mMarkTextPaint);
+        normalPaint.setTextSize(mNormalTextSize);
+        TextPaint highlightedPaint = new TextPaint(mMarkTextPaint);
+        highlightedPaint.setTextSize(mCenterTextSize);
+        mPrecomputedLabels = new PrecomputedLabels(executor, normalPaint, highlightedPaint);
+        invalidate();
+    }
+
+    /**
+     * Add titles shown above the given item indices, keeping titles already set for other indices.
+     * Use {@link #replaceTitles(Map)} to drop the previous titles.
+     */
     public void setTitles(HashMap<Integer, String> itemTitleMap) {
-        mItemTitleMap.putAll(itemTitleMap);
+        editableTitles().putAll(itemTitleMap);
+        onTitlesChanged();
+    }
+
+    /**
+     * Replace all titles with the given ones.
+     */
+    public void replaceTitles(Map<Integer, String> itemTitleMap) {
+        editableTitles().replaceAll(itemTitleMap);
+        onTitlesChanged();
+    }
+
+    /**
+     * Set the title above one item, null removes it.
+     */
+    public void setTitle(int index, String title) {
+        String previous = mTitleIndex.get(index);
+        editableTitles().put(index, title);
+        invalidateTitle(index, previous, title);
+    }
+
+    public String getTitle(int index) {
+        return mTitleIndex.get(index);
+    }
+
+    public void removeTitle(int index) {
+        String previous = mTitleIndex.get(index);
+        editableTitles().remove(index);
+        invalidateTitle(index, previous, null);
+    }
+
+    public void clearTitles() {
+        editableTitles().clear();
+        onTitlesChanged();
+    }
+
+    private void onTitlesChanged() {
+        invalidateStrip();
+        invalidate();
+    }
+
+    /**
+     * Redraw the title row around one item, nothing when the item is off screen.
+     */
+    private void invalidateTitle(int index, String previous, String title) {
+        if (null != mStripRecorder) {
+            mStripRecorder.invalidateItem(index);
+        }
+        float halfWidth = mLayout.slotWidth(index) / 2;
+        if (null != previous) {
+            halfWidth = Math.max(halfWidth, mTitleTextPaint.measureText(previous) / 2);
+        }
+        if (null != title) {
+            halfWidth = Math.max(halfWidth, mTitleTextPaint.measureText(title) / 2);
+        }
+        double scrollX = mScrollPosition;
+        float x = (float) (mLayout.xOf(mLayout.nearestPosition(index, scrollX)) - scrollX);
+        if (x + halfWidth < 0 || x - halfWidth > getWidth()) {
+            return;
+        }
+        int top = getPaddingTop();
+        invalidateArea((int) (x - halfWidth) - 1, top, (int) Math.ceil(x + halfWidth) + 1,
+                (int) Math.ceil(top + mTitleTextHeight + mTitleTextDescent));
+    }
+
+    /**
+     * Redraw the given area where a dirty rect still limits the redraw, which is software rendering
+     * before API 28. Elsewhere the whole view is invalidated, the rect would be ignored anyway.
+     */
+    @SuppressWarnings("deprecation")
+    private void invalidateArea(int left, int top, int right, int bottom) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P || isHardwareAccelerated()) {
+            invalidate();
+        } else {
+            invalidate(left, top, right, bottom);
+        }
+    }
+
+    public float getCursorSize() {
+        return mTopIndexHeight;
+    }
+
+    /**
+     * Set the size of the indicator above the center item, only its area is redrawn where the platform
+     * supports partial redraws.
+     */
+    public void setCursorSize(float cursorSize) {
+        float size = Math.max(mTopIndexHeight, cursorSize);
+        mTopIndexHeight = cursorSize;
+        float center = mLayout.getMaxOverScrollDistance();
+        int top = getPaddingTop();
+        invalidateArea((int) (center - size / 2) - 1, top, (int) Math.ceil(center + size / 2) + 1,
+                (int) Math.ceil(top + size / 3 + size / 2) + 1);
     }
 
     public int getSelectedPosition() {
@@ -530,11 +1740,36 @@ public class HorizontalWheelPicker extends View implements GestureDetector.OnGes
         mOnWheelItemSelectedListener = onWheelItemSelectedListener;
     }
 
+    public void setOnWheelItemChangedListener(OnWheelItemChangedListener onWheelItemChangedListener) {
+        mOnWheelItemChangedListener = onWheelItemChangedListener;
+    }
+
+    /**
+     * Set how center changes are delivered to {@link OnWheelItemSelectedListener#onWheelItemChanged} and
+     * {@link OnWheelItemChangedListener}, one of the {@code ItemChangeDispatcher.POLICY_} constants.
+     *
+     * @param windowMillis time window of {@link ItemChangeDispatcher#POLICY_DEBOUNCE} and
+     *                     {@link ItemChangeDispatcher#POLICY_MAX_RATE}
+     */
+    public void setItemChangePolicy(int policy, long windowMillis) {
+        mChangeDispatcher.setPolicy(policy, windowMillis);
+    }
+
+    public void setItemChangePolicy(int policy) {
+        setItemChangePolicy(policy, 0);
+    }
+
+    public int getItemChangePolicy() {
+        return mChangeDispatcher.getPolicy();
+    }
+
+    public void setOnWheelItemPredictedListener(OnWheelItemPredictedListener onWheelItemPredictedListener) {
+        mOnWheelItemPredictedListener = onWheelItemPredictedListener;
+    }
+
     @Override
     public boolean onDown(MotionEvent e) {
-        if (!mScroller.isFinished()) {
-            mScroller.forceFinished(false);
-        }
+        mScroller.stop();
         mFling = false;
         if (null != getParent()) {
             getParent().requestDisallowInterceptTouchEvent(true);
@@ -550,7 +1785,7 @@ public class HorizontalWheelPicker extends View implements GestureDetector.OnGes
     @Override
     public boolean onSingleTapUp(MotionEvent e) {
         playSoundEffect(SoundEffectConstants.CLICK);
-        refreshCenter((int) (getScrollX() + e.getX() - mMaxOverScrollDistance));
+        refreshCenter(mScrollPosition + e.getX() - mLayout.getMaxOverScrollDistance());
         autoSettle();
         return true;
     }
@@ -562,26 +1797,15 @@ public class HorizontalWheelPicker extends View implements GestureDetector.OnGes
 
     @Override
     public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
-        float dis = distanceX;
-        float scrollX = getScrollX();
-        if (scrollX < mMinSelectableIndex * mIntervalDis - 2 * mMaxOverScrollDistance) {
-            dis = 0;
-        } else if (scrollX < mMinSelectableIndex * mIntervalDis - mMaxOverScrollDistance) {
-            dis = distanceX / 4.f;
-        } else if (scrollX > mContentRectF.width() - (mMarkCount - mMaxSelectableIndex - 1) * mIntervalDis) {
-            dis = 0;
-        } else if (scrollX > mContentRectF.width() - (mMarkCount - mMaxSelectableIndex - 1) * mIntervalDis - mMaxOverScrollDistance) {
-            dis = distanceX / 4.f;
-        }
-        scrollBy((int) dis, 0);
-        refreshCenter();
+        float dis = mLayout.dampScroll(mScrollPosition, distanceX);
+        mDragging = true;
+        moveTo(mScrollPosition + dis);
         return true;
     }
 
     @Override
     public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
-        float scrollX = getScrollX();
-        if (scrollX < -mMaxOverScrollDistance + mMinSelectableIndex * mIntervalDis || scrollX > mContentRectF.width() - mMaxOverScrollDistance - (mMarkCount - 1 - mMaxSelectableIndex) * mIntervalDis) {
+        if (!mLayout.canFling(mScrollPosition)) {
             return false;
         } else {
             mFling = true;
@@ -595,8 +1819,15 @@ public class HorizontalWheelPicker extends View implements GestureDetector.OnGes
         Parcelable superState = super.onSaveInstanceState();
         SavedState ss = new SavedState(superState);
         ss.index = getSelectedPosition();
-        ss.min = mMinSelectableIndex;
-        ss.max = mMaxSelectableIndex;
+        ss.min = mLayout.getMinSelectableIndex();
+        ss.max = mLayout.getMaxSelectableIndex();
+        float slotWidth = mLayout.slotWidth(mCenterIndex);
+        ss.offset = slotWidth > 0 ? (float) ((mScrollPosition - mLayout.scrollXOf(mCenterIndex)) / slotWidth) : 0;
+        ss.itemCount = mLayout.getItemCount();
+        // only a measurement of every item can be reused, not a width hint
+        ss.measuredWidth = mWidthIndex.size() == ss.itemCount && ss.itemCount > 0 ? mWidthIndex.max() : mRestoredWidth;
+        ss.textSize = mMeasurePaint.getTextSize();
+        ss.dataVersion = mDataVersion;
         return ss;
     }
 
@@ -604,18 +1835,69 @@ public class HorizontalWheelPicker extends View implements GestureDetector.OnGes
     public void onRestoreInstanceState(Parcelable state) {
         SavedState ss = (SavedState) state;
         super.onRestoreInstanceState(ss.getSuperState());
-        mMinSelectableIndex = ss.min;
-        mMaxSelectableIndex = ss.max;
-        selectIndex(ss.index);
+        removeCallbacks(mSelectIndexRunnable);
+        mScroller.stop();
+        mLayout.setSelectableRange(ss.min, ss.max);
+        if (mLayout.getItemCount() > 0) {
+            mCenterIndex = mLayout.safeCenter(ss.index);
+            // items set before the restore may not need measuring, see setDataVersion
+            mPendingRestore = ss;
+            measureDeferred();
+            mPendingRestore = null;
+            restoreScrollPosition(ss.offset);
+        } else {
+            // the items come later, setAdapter positions the wheel and may skip measuring them
+            mPendingRestore = ss;
+            mCenterIndex = ss.index;
+        }
         requestLayout();
     }
 
+    /**
+     * Put the center item under the indicator with the given offset, in slot widths, without posting
+     * anything so the next frame is drawn at the right position.
+     */
+    private void restoreScrollPosition(float offset) {
+        mScrollPosition = mLayout.scrollXOf(mCenterIndex) + offset * mLayout.slotWidth(mCenterIndex);
+        invalidate();
+    }
+
+    public String getDataVersion() {
+        return mDataVersion;
+    }
+
+    /**
+     * Identify the items, such as a list name with its revision, so a restored picker can reuse
+     * the label widths it measured before instead of measuring every item again. Set it before the
+     * items: items set before the first layout are then measured at that layout, so a state restored
+     * in between, the usual order of an activity, can supply their widths. While the measurement is
+     * reused, {@link #notifyItemRangeChanged(int, int)} doesn't re-measure single items.
+     */
+    public void setDataVersion(String dataVersion) {
+        mDataVersion = dataVersion;
+    }
+
     public interface OnWheelItemSelectedListener {
         void onWheelItemChanged(HorizontalWheelPicker wheelView, int position);
 
         void onWheelItemSelected(HorizontalWheelPicker wheelView, int position);
     }
 
+    public interface OnWheelItemChangedListener {
+        /**
+         * @param skipped number of indices between this position and the previously delivered one, which
+         *                the wheel passed during a fast fling or while the item change policy held changes back
+         */
+        void onWheelItemChanged(HorizontalWheelPicker wheelView, int position, int skipped);
+    }
+
+    public interface OnWheelItemPredictedListener {
+        /**
+         * Called when a fling starts, with the index it will land on, while the wheel is still moving.
+         */
+        void onWheelItemPredicted(HorizontalWheelPicker wheelView, int position);
+    }
+
     static class SavedState extends BaseSavedState {
         public static final Creator<SavedState> CREATOR
                 = new Creator<SavedState>() {
@@ -630,6 +1912,13 @@ public class HorizontalWheelPicker extends View implements GestureDetector.OnGes
         int index;
         int min;
         int max;
+        // scroll offset from the center item, in slot widths
+        float offset;
+        int itemCount;
+        // widest measured label, 0 if the labels weren't all measured
+        int measuredWidth;
+        float textSize;
+        String dataVersion;
 
         SavedState(Parcelable superState) {
             super(superState);
@@ -640,6 +1929,11 @@ public class HorizontalWheelPicker extends View implements GestureDetector.OnGes
             index = in.readInt();
             min = in.readInt();
             max = in.readInt();
+            offset = in.readFloat();
+            itemCount = in.readInt();
+            measuredWidth = in.readInt();
+            textSize = in.readFloat();
+            dataVersion = in.readString();
         }
 
         @Override
@@ -648,13 +1942,19 @@ public class HorizontalWheelPicker extends View implements GestureDetector.OnGes
             out.writeInt(index);
             out.writeInt(min);
             out.writeInt(max);
+            out.writeFloat(offset);
+            out.writeInt(itemCount);
+            out.writeInt(measuredWidth);
+            out.writeFloat(textSize);
+            out.writeString(dataVersion);
         }
 
         @Override
         public String toString() {
             return "WheelView.SavedState{"
                     + Integer.toHexString(System.identityHashCode(this))
-                    + " index=" + index + " min=" + min + " max=" + max + "}";
+                    + " index=" + index + " min=" + min + " max=" + max + " offset=" + offset
+                    + " itemCount=" + itemCount + " dataVersion=" + dataVersion + "}";
         }
     }
 }
@@ -0,0 +1,187 @@
+package com.view.picker;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+/**
+ * Delivers center index changes according to a policy, coalescing the changes it holds back.
+ * Every delivery reports how many indices lie strictly between it and the previous delivery, the
+ * ones the wheel passed without the listener seeing them.
+ */
+public class ItemChangeDispatcher {
+    /**
+     * Deliver every change synchronously.
+     */
+    public static final int POLICY_IMMEDIATE = 0;
+    /**
+     * Deliver at most once per frame, with the latest index.
+     */
+    public static final int POLICY_PER_FRAME = 1;
+    /**
+     * Deliver the latest index once no change happened for the window.
+     */
+    public static final int POLICY_DEBOUNCE = 2;
+    /**
+     * Deliver at most once per window, the latest index is delivered at the end of the window.
+     */
+    public static final int POLICY_MAX_RATE = 3;
+
+    interface Target {
+        void dispatchItemChanged(int index, int skipped);
+
+        /**
+         * @return number of positions between two indices, the shorter way around a looping wheel
+         */
+        int distance(int from, int to);
+    }
+
+    static final int NONE = Integer.MIN_VALUE;
+
+    private final Target mTarget;
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private int mPolicy = POLICY_IMMEDIATE;
+    private long mWindowMillis;
+
+    private int mPendingIndex;
+    // changes received since the last delivery
+    private int mPendingCount;
+    private int mDeliveredIndex = NONE;
+    private long mLastDeliveryMillis;
+    private boolean mScheduled;
+
+    private final Runnable mDeliverRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mScheduled = false;
+            flush();
+        }
+    };
+
+    private final Choreographer.FrameCallback mFrameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mScheduled = false;
+            flush();
+        }
+    };
+
+    ItemChangeDispatcher(Target target) {
+        mTarget = target;
+    }
+
+    /**
+     * @param windowMillis time window of {@link #POLICY_DEBOUNCE} and {@link #POLICY_MAX_RATE}
+     */
+    void setPolicy(int policy, long windowMillis) {
+        flush();
+        mPolicy = policy;
+        mWindowMillis = Math.max(0, windowMillis);
+    }
+
+    int getPolicy() {
+        return mPolicy;
+    }
+
+    void onIndexChanged(int index) {
+        mPendingIndex = index;
+        mPendingCount++;
+        switch (mPolicy) {
+            case POLICY_PER_FRAME:
+                if (!mScheduled) {
+                    mScheduled = true;
+                    Choreographer.getInstance().postFrameCallback(mFrameCallback);
+                }
+                break;
+            case POLICY_DEBOUNCE:
+                mHandler.removeCallbacks(mDeliverRunnable);
+                mScheduled = true;
+                mHandler.postDelayed(mDeliverRunnable, mWindowMillis);
+                break;
+            case POLICY_MAX_RATE:
+                long now = SystemClock.uptimeMillis();
+                if (now - mLastDeliveryMillis >= mWindowMillis) {
+                    cancel();
+                    flush();
+                } else if (!mScheduled) {
+                    mScheduled = true;
+                    mHandler.postAtTime(mDeliverRunnable, mLastDeliveryMillis + mWindowMillis);
+                }
+                break;
+            default:
+                flush();
+                break;
+        }
+    }
+
+    /**
+     * Deliver the pending change now, if any.
+     */
+    void flush() {
+        if (mScheduled) {
+            cancel();
+        }
+        if (mPendingCount == 0) {
+            return;
+        }
+        int skipped = mDeliveredIndex == NONE ? 0 : Math.max(0, mTarget.distance(mDeliveredIndex, mPendingIndex) - 1);
+        mPendingCount = 0;
+        mDeliveredIndex = mPendingIndex;
+        mLastDeliveryMillis = SystemClock.uptimeMillis();
+        mTarget.dispatchItemChanged(mPendingIndex, skipped);
+    }
+
+    /**
+     * @return the index delivered last, {@link #NONE} before the first delivery
+     */
+    int getDeliveredIndex() {
+        return mDeliveredIndex;
+    }
+
+    /**
+     * Move the delivered and the pending index along with their items after items were inserted.
+     */
+    void onItemRangeInserted(int positionStart, int itemCount) {
+        if (mDeliveredIndex != NONE && mDeliveredIndex >= positionStart) {
+            mDeliveredIndex += itemCount;
+        }
+        if (mPendingCount > 0 && mPendingIndex >= positionStart) {
+            mPendingIndex += itemCount;
+        }
+    }
+
+    /**
+     * Move the delivered and the pending index along with their items after items were removed. An
+     * index of a removed item moves to the first item after the removed range.
+     */
+    void onItemRangeRemoved(int positionStart, int itemCount) {
+        int positionEnd = positionStart + itemCount;
+        if (mDeliveredIndex != NONE) {
+            mDeliveredIndex = HorizontalWheelPicker.shiftForRemoval(mDeliveredIndex, positionStart, positionEnd);
+        }
+        if (mPendingCount > 0) {
+            mPendingIndex = HorizontalWheelPicker.shiftForRemoval(mPendingIndex, positionStart, positionEnd);
+        }
+    }
+
+    /**
+     * Drop the pending change without delivering it, such as when the picker shows other items.
+     */
+    void discard() {
+        cancel();
+        mPendingCount = 0;
+        mDeliveredIndex = NONE;
+    }
+
+    /**
+     * Stop the scheduled delivery, the pending change stays pending.
+     */
+    void cancel() {
+        if (mScheduled) {
+            mScheduled = false;
+            mHandler.removeCallbacks(mDeliverRunnable);
+            Choreographer.getInstance().removeFrameCallback(mFrameCallback);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.view.picker;
+
+import java.util.Arrays;
+
+/**
+ * Cached per-item label widths plus a counted multiset of those widths, so the widest item is
+ * known without re-measuring anything when single items are added, removed or replaced.
+ * <p>
+ * Widths are pixel values, so the multiset is a histogram indexed by width. Updating the
+ * histogram is O(1); finding the new maximum after the widest item goes away scans down the
+ * histogram, which is bounded by the label width in pixels rather than by the item count.
+ */
+final class ItemWidthIndex {
+    private int[] mWidths = new int[0];
+    private int mSize;
+    private int[] mCounts = new int[64];
+    private int mMax;
+
+    int size() {
+        return mSize;
+    }
+
+    int get(int position) {
+        return mWidths[position];
+    }
+
+    /**
+     * @return the largest width in the index, 0 if empty
+     */
+    int max() {
+        return mMax;
+    }
+
+    void clear() {
+        mSize = 0;
+        mMax = 0;
+        Arrays.fill(mCounts, 0);
+    }
+
+    /**
+     * Replace the whole content, taking ownership of the given array.
+     */
+    void load(int[] widths, int size) {
+        clear();
+        mWidths = widths;
+        mSize = size;
+        for (int i = 0; i < size; i++) {
+            addCount(widths[i]);
+        }
+    }
+
+    void set(int position, int width) {
+        int old = mWidths[position];
+        if (old == width) {
+            return;
+        }
+        mWidths[position] = width;
+        addCount(width);
+        removeCount(old);
+    }
+
+    void insert(int position, int[] widths, int count) {
+        ensureCapacity(mSize + count);
+        System.arraycopy(mWidths, position, mWidths, position + count, mSize - position);
+        System.arraycopy(widths, 0, mWidths, position, count);
+        mSize += count;
+        for (int i = 0; i < count; i++) {
+            addCount(widths[i]);
+        }
+    }
+
+    void remove(int position, int count) {
+        for (int i = position; i < position + count; i++) {
+            removeCount(mWidths[i]);
+        }
+        System.arraycopy(mWidths, position + count, mWidths, position, mSize - position - count);
+        mSize -= count;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > mWidths.length) {
+            mWidths = Arrays.copyOf(mWidths, Math.max(capacity, mWidths.length * 3 / 2 + 1));
+        }
+    }
+
+    private void addCount(int width) {
+        if (width < 0) {
+            width = 0;
+        }
+        if (width >= mCounts.length) {
+            mCounts = Arrays.copyOf(mCounts, Math.max(width + 1, mCounts.length * 2));
+        }
+        mCounts[width]++;
+        if (width > mMax) {
+            mMax = width;
+        }
+    }
+
+    private void removeCount(int width) {
+        if (width < 0) {
+            width = 0;
+        }
+        mCounts[width]--;
+        if (width == mMax) {
+            while (mMax > 0 && mCounts[mMax] == 0) {
+                mMax--;
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.view.picker;
+
+import android.graphics.Bitmap;
+
+import java.util.Arrays;
+
+/**
+ * Byte-budgeted LRU cache of pre-rendered label bitmaps, keyed by item index and style.
+ * <p>
+ * Keys are primitive longs and entries live in parallel arrays, so lookups on the draw path
+ * neither box nor allocate. Each entry also keeps the offset of the bitmap relative to the
+ * item's anchor point (its x position and text baseline).
+ */
+final class LabelCache {
+    private static final int NONE = -1;
+
+    private final int mMaxBytes;
+    private int mBytes;
+
+    private long[] mKeys = new long[16];
+    private Bitmap[] mBitmaps = new Bitmap[16];
+    private float[] mLeft = new float[16];
+    private float[] mTop = new float[16];
+    // intrusive LRU list, head is most recently used
+    private int[] mPrev = new int[16];
+    private int[] mNext = new int[16];
+    private int mHead = NONE, mTail = NONE;
+    // hash chains
+    private int[] mBuckets = new int[16];
+    private int[] mChain = new int[16];
+    private int mFree = NONE;
+    private int mUsed;
+
+    LabelCache(int maxBytes) {
+        mMaxBytes = maxBytes;
+        Arrays.fill(mBuckets, NONE);
+    }
+
+    static long key(int index, boolean highlighted) {
+        return ((long) index << 1) | (highlighted ? 1 : 0);
+    }
+
+    int maxBytes() {
+        return mMaxBytes;
+    }
+
+    /**
+     * @return entry slot for the key, or -1 if not cached. The entry becomes most recently used.
+     */
+    int find(long key) {
+        int slot = mBuckets[bucket(key)];
+        while (slot != NONE) {
+            if (mKeys[slot] == key) {
+                unlink(slot);
+                linkFirst(slot);
+                return slot;
+            }
+            slot = mChain[slot];
+        }
+        return NONE;
+    }
+
+    Bitmap bitmap(int slot) {
+        return mBitmaps[slot];
+    }
+
+    float left(int slot) {
+        return mLeft[slot];
+    }
+
+    float top(int slot) {
+        return mTop[slot];
+    }
+
+    void put(long key, Bitmap bitmap, float left, float top) {
+        remove(key);
+        int size = bitmap.getByteCount();
+        if (size > mMaxBytes) {
+            return;
+        }
+        while (mBytes + size > mMaxBytes && mTail != NONE) {
+            removeSlot(mTail);
+        }
+        int slot = obtainSlot();
+        mKeys[slot] = key;
+        mBitmaps[slot] = bitmap;
+        mLeft[slot] = left;
+        mTop[slot] = top;
+        int b = bucket(key);
+        mChain[slot] = mBuckets[b];
+        mBuckets[b] = slot;
+        linkFirst(slot);
+        mBytes += size;
+    }
+
+    void remove(long key) {
+        int slot = mBuckets[bucket(key)];
+        while (slot != NONE) {
+            if (mKeys[slot] == key) {
+                removeSlot(slot);
+                return;
+            }
+            slot = mChain[slot];
+        }
+    }
+
+    /**
+     * Remove the labels of the items in [start, end), looking up each key of a short range and
+     * walking the entries otherwise, so a range larger than the cache costs O(entries).
+     */
+    void removeRange(int start, int end) {
+        if ((long) (end - start) * 2 < mUsed) {
+            for (int i = start; i < end; i++) {
+                remove(key(i, false));
+                remove(key(i, true));
+            }
+            return;
+        }
+        int slot = mHead;
+        while (slot != NONE) {
+            int next = mNext[slot];
+            long index = mKeys[slot] >> 1;
+            if (index >= start && index < end) {
+                removeSlot(slot);
+            }
+            slot = next;
+        }
+    }
+
+    void clear() {
+        while (mTail != NONE) {
+            removeSlot(mTail);
+        }
+    }
+
+    private void removeSlot(int slot) {
+        int b = bucket(mKeys[slot]);
+        if (mBuckets[b] == slot) {
+            mBuckets[b] = mChain[slot];
+        } else {
+            int prev = mBuckets[b];
+            while (mChain[prev] != slot) {
+                prev = mChain[prev];
+            }
+            mChain[prev] = mChain[slot];
+        }
+        unlink(slot);
+        mBytes -= mBitmaps[slot].getByteCount();
+        mBitmaps[slot] = null;
+        mChain[slot] = mFree;
+        mFree = slot;
+    }
+
+    private int obtainSlot() {
+        if (mFree != NONE) {
+            int slot = mFree;
+            mFree = mChain[slot];
+            return slot;
+        }
+        if (mUsed == mKeys.length) {
+            grow();
+        }
+        return mUsed++;
+    }
+
+    private void grow() {
+        int capacity = mKeys.length * 2;
+        mKeys = Arrays.copyOf(mKeys, capacity);
+        mBitmaps = Arrays.copyOf(mBitmaps, capacity);
+        mLeft = Arrays.copyOf(mLeft, capacity);
+        mTop = Arrays.copyOf(mTop, capacity);
+        mPrev = Arrays.copyOf(mPrev, capacity);
+        mNext = Arrays.copyOf(mNext, capacity);
+        mChain = new int[capacity];
+        mBuckets = new int[capacity];
+        Arrays.fill(mBuckets, NONE);
+        // rehash live entries, the free list is rebuilt from empty slots
+        mFree = NONE;
+        for (int slot = 0; slot < mUsed; slot++) {
+            if (mBitmaps[slot] == null) {
+                mChain[slot] = mFree;
+                mFree = slot;
+            } else {
+                int b = bucket(mKeys[slot]);
+                mChain[slot] = mBuckets[b];
+                mBuckets[b] = slot;
+            }
+        }
+    }
+
+    private int bucket(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (mBuckets.length - 1);
+    }
+
+    private void linkFirst(int slot) {
+        mPrev[slot] = NONE;
+        mNext[slot] = mHead;
+        if (mHead != NONE) {
+            mPrev[mHead] = slot;
+        }
+        mHead = slot;
+        if (mTail == NONE) {
+            mTail = slot;
+        }
+    }
+
+    private void unlink(int slot) {
+        int prev = mPrev[slot];
+        int next = mNext[slot];
+        if (prev != NONE) {
+            mNext[prev] = next;
+        } else if (mHead == slot) {
+            mHead = next;
+        }
+        if (next != NONE) {
+            mPrev[next] = prev;
+        } else if (mTail == slot) {
+            mTail = prev;
+        }
+        mPrev[slot] = NONE;
+        mNext[slot] = NONE;
+    }
+}
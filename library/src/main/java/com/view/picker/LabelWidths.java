@@ -0,0 +1,47 @@
+package com.view.picker;
+
+/**
+ * Measures item labels, looking them up in a {@link TextWidthCache} first when one is given. Keeps
+ * no Android types, the actual measurement is done by a {@link Measurer}.
+ */
+final class LabelWidths {
+    interface Measurer {
+        /**
+         * @return width of the text in pixels
+         */
+        int measure(String text);
+    }
+
+    private LabelWidths() {
+    }
+
+    /**
+     * @param cache may be null
+     */
+    static int measure(CharSequence text, float textSize, TextWidthCache cache, Measurer measurer) {
+        String str = text.toString();
+        int width = null == cache ? -1 : cache.get(textSize, str);
+        if (width < 0) {
+            width = measurer.measure(str);
+            if (null != cache) {
+                cache.put(textSize, str, width);
+            }
+        }
+        return width;
+    }
+
+    /**
+     * Ranges larger than the cache can hold skip it, a lookup per label would cost more than it saves.
+     *
+     * @return widths of the labels of the items in [start, start + count)
+     */
+    static int[] measure(WheelAdapter adapter, int start, int count, float textSize, TextWidthCache cache,
+                         Measurer measurer) {
+        TextWidthCache shared = count > TextWidthCache.MAX_ENTRIES ? null : cache;
+        int[] widths = new int[count];
+        for (int i = 0; i < count; i++) {
+            widths[i] = measure(adapter.getItem(start + i), textSize, shared, measurer);
+        }
+        return widths;
+    }
+}
@@ -0,0 +1,33 @@
+package com.view.picker;
+
+import java.util.List;
+
+/**
+ * {@link WheelAdapter} backed by a list of labels. The list is referenced, not copied.
+ */
+public class ListWheelAdapter implements WheelAdapter {
+    private final List<String> mItems;
+
+    public ListWheelAdapter(List<String> items) {
+        mItems = items;
+    }
+
+    public List<String> getItems() {
+        return mItems;
+    }
+
+    @Override
+    public int getItemCount() {
+        return null == mItems ? 0 : mItems.size();
+    }
+
+    @Override
+    public CharSequence getItem(int position) {
+        return mItems.get(position);
+    }
+
+    @Override
+    public CharSequence getWidthHint() {
+        return null;
+    }
+}
@@ -0,0 +1,119 @@
+package com.view.picker;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Formats fixed point numbers into char buffers without allocating: a fixed number of decimal
+ * places, optional digit grouping and a unit prefix and suffix.
+ */
+public final class NumberLabelFormat {
+    static final int MAX_DECIMALS = 9;
+
+    private final int mDecimals;
+    private final boolean mGrouping;
+    private final char mGroupingSeparator;
+    private final char mDecimalSeparator;
+    private final char mMinusSign;
+    private final String mPrefix;
+    private final String mSuffix;
+
+    public NumberLabelFormat(int decimals, boolean grouping, String prefix, String suffix) {
+        this(decimals, grouping, prefix, suffix, Locale.getDefault());
+    }
+
+    /**
+     * @param decimals number of decimal places, at most 9
+     * @param grouping whether to separate thousands
+     * @param prefix   text before the number, e.g. a currency symbol, may be null
+     * @param suffix   text after the number, e.g. a unit, may be null
+     * @param locale   locale of the separators and minus sign
+     */
+    public NumberLabelFormat(int decimals, boolean grouping, String prefix, String suffix, Locale locale) {
+        mDecimals = Math.max(0, Math.min(MAX_DECIMALS, decimals));
+        mGrouping = grouping;
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        mGroupingSeparator = symbols.getGroupingSeparator();
+        mDecimalSeparator = symbols.getDecimalSeparator();
+        mMinusSign = symbols.getMinusSign();
+        mPrefix = null == prefix ? "" : prefix;
+        mSuffix = null == suffix ? "" : suffix;
+    }
+
+    public int getDecimals() {
+        return mDecimals;
+    }
+
+    /**
+     * @return length of the longest label of a value whose magnitude is at most maxAbsScaled
+     */
+    int maxLength(long maxAbsScaled) {
+        long intPart = maxAbsScaled / pow10(mDecimals);
+        int intDigits = digitCount(intPart);
+        return mPrefix.length() + 1 + intDigits + (mGrouping ? (intDigits - 1) / 3 : 0)
+                + (mDecimals > 0 ? 1 + mDecimals : 0) + mSuffix.length();
+    }
+
+    /**
+     * @param scaled the value multiplied by 10^decimals
+     * @return number of chars written to the start of the buffer
+     */
+    int format(long scaled, char[] buffer) {
+        int pos = copy(mPrefix, buffer, 0);
+        long abs = scaled;
+        if (scaled < 0) {
+            buffer[pos++] = mMinusSign;
+            abs = -scaled;
+        }
+        long scale = pow10(mDecimals);
+        long intPart = abs / scale;
+        long fraction = abs % scale;
+
+        int intDigits = digitCount(intPart);
+        int end = pos + intDigits + (mGrouping ? (intDigits - 1) / 3 : 0);
+        int p = end;
+        int written = 0;
+        do {
+            if (mGrouping && written > 0 && written % 3 == 0) {
+                buffer[--p] = mGroupingSeparator;
+            }
+            buffer[--p] = (char) ('0' + intPart % 10);
+            intPart /= 10;
+            written++;
+        } while (intPart > 0);
+        pos = end;
+
+        if (mDecimals > 0) {
+            buffer[pos++] = mDecimalSeparator;
+            for (int i = mDecimals - 1; i >= 0; i--) {
+                buffer[pos + i] = (char) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            pos += mDecimals;
+        }
+        return copy(mSuffix, buffer, pos);
+    }
+
+    static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static int copy(String text, char[] buffer, int pos) {
+        int length = text.length();
+        text.getChars(0, length, buffer, pos);
+        return pos + length;
+    }
+}
@@ -0,0 +1,80 @@
+package com.view.picker;
+
+/**
+ * Numeric range from min to max in steps, formatted on demand. No labels are stored, and
+ * the interval between marks comes from the widest formatted value in O(1).
+ * <p>
+ * Values are kept as fixed point numbers with the format's decimal places, so steps like 0.1
+ * don't accumulate floating point error.
+ */
+public class NumericWheelAdapter implements CharWheelAdapter {
+    private final NumberLabelFormat mFormat;
+    private final long mScale;
+    private final long mMin;
+    private final long mStep;
+    private final int mCount;
+    private final int mMaxLength;
+    private final String mWidthHint;
+
+    /**
+     * @param step distance between two items, rounded to the format's decimal places
+     */
+    public NumericWheelAdapter(double min, double max, double step, NumberLabelFormat format) {
+        mFormat = format;
+        mScale = NumberLabelFormat.pow10(format.getDecimals());
+        mMin = Math.round(min * mScale);
+        long scaledMax = Math.round(max * mScale);
+        mStep = Math.max(1, Math.round(Math.abs(step) * mScale));
+        mCount = scaledMax < mMin ? 0 : (int) Math.min(Integer.MAX_VALUE, (scaledMax - mMin) / mStep + 1);
+
+        long last = mMin + (mCount > 0 ? (mCount - 1) * mStep : 0);
+        mMaxLength = format.maxLength(Math.max(Math.abs(mMin), Math.abs(last)));
+        // digits share one width in most fonts, so the longest of the two extremes is the widest label
+        char[] buffer = new char[mMaxLength];
+        int minLength = format.format(mMin, buffer);
+        String minLabel = new String(buffer, 0, minLength);
+        int lastLength = format.format(last, buffer);
+        mWidthHint = lastLength >= minLength ? new String(buffer, 0, lastLength) : minLabel;
+    }
+
+    public double getValue(int position) {
+        return (double) (mMin + position * mStep) / mScale;
+    }
+
+    /**
+     * @return position of the item closest to the value
+     */
+    public int indexOf(double value) {
+        if (mCount == 0) {
+            return -1;
+        }
+        long index = Math.round((value * mScale - mMin) / mStep);
+        return (int) Math.max(0, Math.min(mCount - 1, index));
+    }
+
+    @Override
+    public int getItemCount() {
+        return mCount;
+    }
+
+    @Override
+    public CharSequence getItem(int position) {
+        char[] buffer = new char[mMaxLength];
+        return new String(buffer, 0, getItemChars(position, buffer));
+    }
+
+    @Override
+    public CharSequence getWidthHint() {
+        return mWidthHint;
+    }
+
+    @Override
+    public int getMaxLength() {
+        return mMaxLength;
+    }
+
+    @Override
+    public int getItemChars(int position, char[] buffer) {
+        return mFormat.format(mMin + position * mStep, buffer);
+    }
+}
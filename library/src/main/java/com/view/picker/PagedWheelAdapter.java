@@ -0,0 +1,257 @@
+package com.view.picker;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import java.util.concurrent.Executor;
+
+/**
+ * {@link WheelAdapter} whose labels are loaded page by page on a caller supplied {@link Executor}.
+ * <p>
+ * Items of pages that are not loaded yet are drawn with a placeholder and never block drawing.
+ * {@link HorizontalWheelPicker} prefetches pages around its center index, further ahead in the
+ * direction of a fling the faster it goes. At most {@code maxPages} pages are kept, the ones farthest
+ * from the center are evicted first.
+ * <p>
+ * A page whose loader throws, returns null or hasn't returned within {@link #PENDING_TIMEOUT_MS} is
+ * dropped, the next {@link #getItem} or prefetch of one of its items requests it again.
+ */
+public class PagedWheelAdapter implements WheelAdapter {
+    /**
+     * Loads the labels of one page, called on the executor.
+     */
+    public interface PageLoader {
+        /**
+         * @return labels of the items in [start, start + count), null if they couldn't be loaded
+         */
+        CharSequence[] loadPage(int start, int count);
+    }
+
+    interface Callback {
+        void onPageLoaded(int start, int count);
+    }
+
+    // seconds of fling travel to load ahead of the center
+    private static final float PREFETCH_SECONDS = 0.3f;
+    // a load running longer than this is given up on, the page is requested again
+    static final long PENDING_TIMEOUT_MS = 10000;
+
+    private static final int EMPTY = 0;
+    private static final int PENDING = 1;
+    private static final int LOADED = 2;
+
+    private final int mItemCount;
+    private final int mPageSize;
+    private final CharSequence mWidthHint;
+    private final PageLoader mLoader;
+    private final Executor mExecutor;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private CharSequence mPlaceholder = "";
+
+    // page slots, scanned linearly since there are only a few of them
+    private final int[] mPageIndex;
+    private final int[] mState;
+    private final CharSequence[][] mPages;
+    // id of the last request per slot and when it was made, results of older requests are dropped
+    private final int[] mRequestIds;
+    private final long[] mRequestMillis;
+    private int mRequestId;
+    private int mGeneration;
+    private int mCenterPage;
+    private Callback mCallback;
+
+    /**
+     * @param itemCount total number of items
+     * @param pageSize  number of items loaded at once
+     * @param maxPages  number of pages kept in memory, loaded or loading
+     * @param widthHint label at least as wide as any item, labels can't be measured before they load
+     */
+    public PagedWheelAdapter(int itemCount, int pageSize, int maxPages, CharSequence widthHint,
+                             PageLoader loader, Executor executor) {
+        mItemCount = itemCount;
+        mPageSize = Math.max(1, pageSize);
+        mWidthHint = widthHint;
+        mLoader = loader;
+        mExecutor = executor;
+        int slots = Math.max(3, maxPages);
+        mPageIndex = new int[slots];
+        mState = new int[slots];
+        mPages = new CharSequence[slots][];
+        mRequestIds = new int[slots];
+        mRequestMillis = new long[slots];
+    }
+
+    public void setPlaceholder(CharSequence placeholder) {
+        mPlaceholder = placeholder;
+    }
+
+    @Override
+    public int getItemCount() {
+        return mItemCount;
+    }
+
+    @Override
+    public CharSequence getItem(int position) {
+        int page = position / mPageSize;
+        int slot = findSlot(page);
+        if (slot >= 0 && mState[slot] == LOADED) {
+            CharSequence[] labels = mPages[slot];
+            int offset = position - page * mPageSize;
+            if (offset < labels.length && labels[offset] != null) {
+                return labels[offset];
+            }
+            return mPlaceholder;
+        }
+        if (slot < 0) {
+            request(page);
+        }
+        return mPlaceholder;
+    }
+
+    @Override
+    public CharSequence getWidthHint() {
+        return mWidthHint;
+    }
+
+    public boolean isLoaded(int position) {
+        int slot = findSlot(position / mPageSize);
+        return slot >= 0 && mState[slot] == LOADED;
+    }
+
+    /**
+     * Drop all pages, e.g. after the underlying data changed. Visible pages are loaded again.
+     */
+    public void refresh() {
+        mGeneration++;
+        for (int slot = 0; slot < mState.length; slot++) {
+            mState[slot] = EMPTY;
+            mPages[slot] = null;
+        }
+        if (mCallback != null) {
+            mCallback.onPageLoaded(0, mItemCount);
+        }
+    }
+
+    void setCallback(Callback callback) {
+        mCallback = callback;
+    }
+
+    /**
+     * Request the pages around the center index, extended in the direction of motion.
+     *
+     * @param radius        number of items on each side that should be loaded
+     * @param itemsPerSecond signed scroll velocity, positive towards higher indices
+     */
+    void prefetch(int center, int radius, float itemsPerSecond) {
+        if (mItemCount <= 0) {
+            return;
+        }
+        mCenterPage = center / mPageSize;
+        int lead = (int) (itemsPerSecond * PREFETCH_SECONDS);
+        int first = Math.max(0, center - radius + Math.min(lead, 0));
+        int last = Math.min(mItemCount - 1, center + radius + Math.max(lead, 0));
+        int firstPage = first / mPageSize;
+        int lastPage = last / mPageSize;
+        // nearest pages first, the eviction below favours those
+        for (int distance = 0; distance <= lastPage - firstPage; distance++) {
+            int ahead = itemsPerSecond < 0 ? mCenterPage - distance : mCenterPage + distance;
+            int behind = itemsPerSecond < 0 ? mCenterPage + distance : mCenterPage - distance;
+            if (ahead >= firstPage && ahead <= lastPage && findSlot(ahead) < 0) {
+                request(ahead);
+            }
+            if (distance > 0 && behind >= firstPage && behind <= lastPage && findSlot(behind) < 0) {
+                request(behind);
+            }
+        }
+    }
+
+    /**
+     * @return slot of the page, -1 if it isn't loaded or requested. A request that timed out is
+     * dropped here.
+     */
+    private int findSlot(int page) {
+        for (int slot = 0; slot < mState.length; slot++) {
+            if (mState[slot] != EMPTY && mPageIndex[slot] == page) {
+                if (isTimedOut(slot)) {
+                    mState[slot] = EMPTY;
+                    return -1;
+                }
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isTimedOut(int slot) {
+        return mState[slot] == PENDING
+                && SystemClock.uptimeMillis() - mRequestMillis[slot] >= PENDING_TIMEOUT_MS;
+    }
+
+    private void request(final int page) {
+        final int slot = obtainSlot(page);
+        if (slot < 0) {
+            return;
+        }
+        mPageIndex[slot] = page;
+        mState[slot] = PENDING;
+        mPages[slot] = null;
+        final int requestId = ++mRequestId;
+        mRequestIds[slot] = requestId;
+        mRequestMillis[slot] = SystemClock.uptimeMillis();
+        final int generation = mGeneration;
+        final int start = page * mPageSize;
+        final int count = Math.min(mPageSize, mItemCount - start);
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                CharSequence[] loaded;
+                try {
+                    loaded = mLoader.loadPage(start, count);
+                } catch (RuntimeException e) {
+                    loaded = null;
+                }
+                final CharSequence[] labels = loaded;
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != mGeneration || mState[slot] != PENDING
+                                || mRequestIds[slot] != requestId) {
+                            return;
+                        }
+                        if (labels == null) {
+                            // not loaded, the next getItem of the page asks for it again
+                            mState[slot] = EMPTY;
+                            return;
+                        }
+                        mPages[slot] = labels;
+                        mState[slot] = LOADED;
+                        if (mCallback != null) {
+                            mCallback.onPageLoaded(start, count);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * @return a free slot or one whose request timed out, or the loaded slot farthest from the center
+     * if it is farther than the requested page, -1 if the page is not worth a slot
+     */
+    private int obtainSlot(int page) {
+        int farthest = -1;
+        int farthestDistance = Math.abs(page - mCenterPage);
+        for (int slot = 0; slot < mState.length; slot++) {
+            if (mState[slot] == EMPTY || isTimedOut(slot)) {
+                return slot;
+            }
+            int distance = Math.abs(mPageIndex[slot] - mCenterPage);
+            if (mState[slot] == LOADED && distance > farthestDistance) {
+                farthest = slot;
+                farthestDistance = distance;
+            }
+        }
+        return farthest;
+    }
+}
@@ -0,0 +1,168 @@
+package com.view.picker;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.text.TextPaint;
+
+import androidx.core.text.PrecomputedTextCompat;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+/**
+ * Shapes item labels ahead of the scroll position on a background executor, in the normal and the
+ * highlighted style, so the platform's text layout cache already holds their shaping when they are
+ * drawn.
+ * <p>
+ * Canvas.drawText doesn't take the measurements of a {@link PrecomputedTextCompat}, and drawing one
+ * copies its chars, so the picker keeps drawing the adapter's labels and the results are thrown away.
+ * Only a warmed marker per item index is kept. The layout cache is bounded and shared by the whole
+ * process, so a label evicted before it scrolls into view is shaped again while drawing.
+ * <p>
+ * Markers are direct mapped by item index: indices of a window narrower than the capacity never
+ * evict each other. Labels are read on the UI thread into preallocated buffers and a single request
+ * is in flight at a time, so requesting from onDraw doesn't allocate. Results are posted back to the
+ * main looper and dropped if the labels were cleared, or their marker invalidated, since they were
+ * requested.
+ */
+final class PrecomputedLabels {
+    private static final int CAPACITY = 256;
+    private static final int MASK = CAPACITY - 1;
+    private static final int NONE = -1;
+
+    private final Executor mExecutor;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private final PrecomputedTextCompat.Params mNormalParams;
+    private final PrecomputedTextCompat.Params mHighlightedParams;
+
+    // index whose label was warmed, per slot
+    private final int[] mIndices = new int[CAPACITY];
+    // bumped when a marker is invalidated, results requested before are dropped for that slot only
+    private final int[] mStamps = new int[CAPACITY];
+    private int mGeneration;
+    private int mRequestedCenter = NONE;
+
+    // the request in flight, owned by the executor from execute until mDeliver runs
+    private final int[] mRequestIndices = new int[CAPACITY];
+    private final int[] mRequestStamps = new int[CAPACITY];
+    private final CharSequence[] mRequestLabels = new CharSequence[CAPACITY];
+    private int mRequestCount;
+    private int mRequestGeneration;
+    private boolean mInFlight;
+    private boolean mShaped;
+
+    private final Runnable mShape = new Runnable() {
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < mRequestCount; i++) {
+                    PrecomputedTextCompat.create(mRequestLabels[i], mNormalParams);
+                    PrecomputedTextCompat.create(mRequestLabels[i], mHighlightedParams);
+                }
+                mShaped = true;
+            } finally {
+                mMainHandler.post(mDeliver);
+            }
+        }
+    };
+
+    private final Runnable mDeliver = new Runnable() {
+        @Override
+        public void run() {
+            if (mShaped && mRequestGeneration == mGeneration) {
+                for (int i = 0; i < mRequestCount; i++) {
+                    int slot = mRequestIndices[i] & MASK;
+                    if (mStamps[slot] == mRequestStamps[i]) {
+                        mIndices[slot] = mRequestIndices[i];
+                    }
+                }
+            }
+            Arrays.fill(mRequestLabels, 0, mRequestCount, null);
+            mRequestCount = 0;
+            mInFlight = false;
+        }
+    };
+
+    PrecomputedLabels(Executor executor, TextPaint normalPaint, TextPaint highlightedPaint) {
+        mExecutor = executor;
+        mNormalParams = new PrecomputedTextCompat.Params.Builder(normalPaint).build();
+        mHighlightedParams = new PrecomputedTextCompat.Params.Builder(highlightedPaint).build();
+        Arrays.fill(mIndices, NONE);
+    }
+
+    /**
+     * @return whether the label of the item was shaped ahead of drawing
+     */
+    boolean isWarmed(int index) {
+        return mIndices[index & MASK] == index;
+    }
+
+    /**
+     * Drop the markers of the items in [start, end), including results for them still being computed.
+     * Markers of other items stay valid. Costs O(min(end - start, capacity)).
+     */
+    void removeRange(int start, int end) {
+        if (end - start >= CAPACITY) {
+            for (int slot = 0; slot < CAPACITY; slot++) {
+                if (mIndices[slot] >= start && mIndices[slot] < end) {
+                    mIndices[slot] = NONE;
+                }
+                mStamps[slot]++;
+            }
+        } else {
+            for (int i = start; i < end; i++) {
+                int slot = i & MASK;
+                if (mIndices[slot] == i) {
+                    mIndices[slot] = NONE;
+                }
+                mStamps[slot]++;
+            }
+        }
+        mRequestedCenter = NONE;
+    }
+
+    /**
+     * Drop all markers, including the ones still being computed.
+     */
+    void clear() {
+        mGeneration++;
+        mRequestedCenter = NONE;
+        Arrays.fill(mIndices, NONE);
+    }
+
+    /**
+     * Request the labels within radius of the center that aren't warmed yet. Nothing is requested
+     * until the center has moved by half the radius since the last request, or while a request is
+     * still running. Pages of a {@link PagedWheelAdapter} that aren't loaded are skipped.
+     */
+    void prefetch(WheelAdapter adapter, int center, int radius, boolean loop) {
+        int count = adapter.getItemCount();
+        radius = Math.min(radius, CAPACITY / 2 - 1);
+        if (count == 0 || mInFlight
+                || mRequestedCenter != NONE && Math.abs(center - mRequestedCenter) <= radius / 2) {
+            return;
+        }
+        mRequestedCenter = center;
+        PagedWheelAdapter paged = adapter instanceof PagedWheelAdapter ? (PagedWheelAdapter) adapter : null;
+        int requestCount = 0;
+        for (int i = center - radius; i <= center + radius; i++) {
+            int index = loop ? Math.floorMod(i, count) : i;
+            if (index < 0 || index >= count || isWarmed(index) || null != paged && !paged.isLoaded(index)) {
+                continue;
+            }
+            mRequestIndices[requestCount] = index;
+            mRequestStamps[requestCount] = mStamps[index & MASK];
+            // read here, the executor must not call into the adapter
+            mRequestLabels[requestCount] = adapter.getItem(index);
+            requestCount++;
+        }
+        if (requestCount == 0) {
+            return;
+        }
+        mRequestCount = requestCount;
+        mRequestGeneration = mGeneration;
+        mShaped = false;
+        mInFlight = true;
+        mExecutor.execute(mShape);
+    }
+}
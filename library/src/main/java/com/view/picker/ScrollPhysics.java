@@ -0,0 +1,114 @@
+package com.view.picker;
+
+/**
+ * Motion model of a {@link HorizontalWheelPicker} animation: moves a scroll position from a start
+ * position and velocity to rest exactly on a target.
+ * <p>
+ * Subclasses advance the state in closed form, so a step of any length lands on the same path and
+ * a fixed step sequence always gives the same result. Steps don't allocate. Positions are in pixels,
+ * velocities in pixels per second, both doubles so positions far into a long list keep sub-pixel steps.
+ */
+public abstract class ScrollPhysics {
+    /**
+     * Distance to the target under which the motion snaps onto it and stops.
+     */
+    protected static final float REST_DISTANCE = 0.25f;
+
+    protected double mPosition;
+    protected double mVelocity;
+    protected double mTarget;
+    private boolean mFinished = true;
+
+    /**
+     * Start moving, the motion comes to rest on the target.
+     */
+    public final void start(double position, double velocity, double target) {
+        mPosition = position;
+        mVelocity = velocity;
+        mTarget = target;
+        mFinished = false;
+        onStart();
+        if (isAtRest()) {
+            finish();
+        }
+    }
+
+    /**
+     * Advance the motion.
+     *
+     * @param dt seconds
+     * @return whether it is still moving
+     */
+    public final boolean step(float dt) {
+        if (mFinished) {
+            return false;
+        }
+        advance(dt);
+        if (isAtRest()) {
+            finish();
+        }
+        return !mFinished;
+    }
+
+    /**
+     * Jump to the target and stop.
+     */
+    public final void finish() {
+        mPosition = mTarget;
+        mVelocity = 0;
+        mFinished = true;
+    }
+
+    /**
+     * Stop where the motion currently is.
+     */
+    public final void stop() {
+        mTarget = mPosition;
+        mVelocity = 0;
+        mFinished = true;
+    }
+
+    /**
+     * Move the position and the target together, the motion continues unchanged.
+     */
+    public final void offset(double dx) {
+        mPosition += dx;
+        mTarget += dx;
+    }
+
+    public final double getPosition() {
+        return mPosition;
+    }
+
+    public final double getVelocity() {
+        return mVelocity;
+    }
+
+    public final double getTarget() {
+        return mTarget;
+    }
+
+    public final boolean isFinished() {
+        return mFinished;
+    }
+
+    /**
+     * @return distance a motion started with the given velocity travels when nothing picks its target,
+     * used to predict where a fling lands
+     */
+    public abstract double flingDistance(double velocity);
+
+    /**
+     * Adjust the motion parameters to the state set by {@link #start(double, double, double)}.
+     */
+    protected abstract void onStart();
+
+    /**
+     * Advance position and velocity by dt seconds.
+     */
+    protected abstract void advance(float dt);
+
+    protected boolean isAtRest() {
+        return Math.abs(mTarget - mPosition) < REST_DISTANCE;
+    }
+}
@@ -0,0 +1,88 @@
+package com.view.picker;
+
+import java.util.Arrays;
+
+/**
+ * Per-item slot widths kept in a Fenwick tree, so the offset of any item and the item at any
+ * offset are found in O(log n), and changing one width is O(log n) as well.
+ * <p>
+ * Sums are doubles: a float loses whole pixels once the content is a few million pixels wide.
+ */
+final class SlotOffsets {
+    private float[] mWidths = new float[0];
+    // mTree[i] holds the sum of the mLowBit(i) widths ending at width i - 1
+    private double[] mTree = new double[1];
+    private int mSize;
+    private int mHighBit;
+
+    int size() {
+        return mSize;
+    }
+
+    float get(int index) {
+        return mWidths[index];
+    }
+
+    /**
+     * Replace the whole content, taking ownership of the given array. O(n).
+     */
+    void load(float[] widths, int size) {
+        mWidths = widths;
+        mSize = size;
+        if (mTree.length < size + 1) {
+            mTree = new double[size + 1];
+        } else {
+            Arrays.fill(mTree, 0, size + 1, 0);
+        }
+        for (int i = 1; i <= size; i++) {
+            mTree[i] += widths[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                mTree[parent] += mTree[i];
+            }
+        }
+        mHighBit = size == 0 ? 0 : Integer.highestOneBit(size);
+    }
+
+    void set(int index, float width) {
+        double delta = width - mWidths[index];
+        if (delta == 0) {
+            return;
+        }
+        mWidths[index] = width;
+        for (int i = index + 1; i <= mSize; i += i & -i) {
+            mTree[i] += delta;
+        }
+    }
+
+    /**
+     * @return total width of the slots before the given index
+     */
+    double prefix(int index) {
+        double sum = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += mTree[i];
+        }
+        return sum;
+    }
+
+    double total() {
+        return prefix(mSize);
+    }
+
+    /**
+     * @return index of the slot holding the given offset from the start of the first slot, clamped
+     * to [0, size - 1]
+     */
+    int search(double offset) {
+        int index = 0;
+        for (int bit = mHighBit; bit > 0; bit >>= 1) {
+            int next = index + bit;
+            if (next <= mSize && mTree[next] <= offset) {
+                index = next;
+                offset -= mTree[next];
+            }
+        }
+        return Math.min(index, mSize - 1);
+    }
+}
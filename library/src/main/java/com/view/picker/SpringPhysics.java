@@ -0,0 +1,53 @@
+package com.view.picker;
+
+/**
+ * Critically damped spring pulling towards the target, for snapping onto an item. Keeps the velocity
+ * of the motion it takes over, so a settle after a drag or fling doesn't jerk.
+ */
+public class SpringPhysics extends ScrollPhysics {
+    public static final float DEFAULT_STIFFNESS = 20f;
+    // slower than this the spring doesn't pass the target anymore
+    private static final float REST_VELOCITY = 10f;
+
+    private final float mStiffness;
+
+    public SpringPhysics() {
+        this(DEFAULT_STIFFNESS);
+    }
+
+    /**
+     * @param stiffness angular frequency in radians per second, higher settles faster
+     */
+    public SpringPhysics(float stiffness) {
+        mStiffness = stiffness;
+    }
+
+    /**
+     * A spring only moves towards its target.
+     */
+    @Override
+    public double flingDistance(double velocity) {
+        return 0;
+    }
+
+    @Override
+    protected void onStart() {
+    }
+
+    @Override
+    protected void advance(float dt) {
+        // x(t) = target + (c1 + c2 * t) * e^(-w * t)
+        float w = mStiffness;
+        double c1 = mPosition - mTarget;
+        double c2 = mVelocity + w * c1;
+        double decay = Math.exp(-w * dt);
+        double offset = c1 + c2 * dt;
+        mPosition = mTarget + offset * decay;
+        mVelocity = (c2 - w * offset) * decay;
+    }
+
+    @Override
+    protected boolean isAtRest() {
+        return super.isAtRest() && Math.abs(mVelocity) < REST_VELOCITY;
+    }
+}
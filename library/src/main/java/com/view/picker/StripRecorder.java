@@ -0,0 +1,171 @@
+package com.view.picker;
+
+import android.graphics.Canvas;
+import android.graphics.Picture;
+import android.graphics.RenderNode;
+import android.os.Build;
+
+import androidx.annotation.RequiresApi;
+
+/**
+ * Records the item strip into view-wide tiles and replays them at the current scroll offset, so a
+ * drag or fling frame is a translate plus one or two display list draws instead of a full redraw.
+ * <p>
+ * Tiles are recorded into {@link RenderNode}s on hardware canvases from Q on, and into
+ * {@link Picture}s otherwise. A tile is re-recorded only after it was invalidated, either entirely
+ * (data, style or size change) or because it overlaps an item whose highlight changed.
+ */
+final class StripRecorder {
+    interface Painter {
+        /**
+         * Draw marks, labels and titles of the items in [start, end), at their content x minus originX.
+         *
+         * @return the number of draw calls issued
+         */
+        int drawItems(Canvas canvas, int start, int end, double originX);
+    }
+
+    // two tiles cover the view at any offset, a third keeps the neighbour in the scroll direction
+    private static final int SLOTS = 3;
+    private static final int NONE = Integer.MIN_VALUE;
+
+    private final Painter mPainter;
+    private final int[] mTiles = new int[SLOTS];
+    private final Picture[] mPictures = new Picture[SLOTS];
+    private final Object[] mNodes = new Object[SLOTS];
+    private int mTileWidth, mTileHeight;
+    private float mIntervalDis;
+    private int mFirstIndex, mEndIndex;
+
+    StripRecorder(Painter painter) {
+        mPainter = painter;
+        invalidateAll();
+    }
+
+    /**
+     * @return whether tiles can be replayed on the given canvas
+     */
+    static boolean isSupported(Canvas canvas) {
+        return !canvas.isHardwareAccelerated() || Build.VERSION.SDK_INT >= Build.VERSION_CODES.M;
+    }
+
+    void invalidateAll() {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            mTiles[slot] = NONE;
+        }
+    }
+
+    /**
+     * Drop the tiles the given item draws into.
+     */
+    void invalidateItem(int index) {
+        if (mTileWidth <= 0) {
+            return;
+        }
+        int first = (int) Math.floor((index - 1) * (double) mIntervalDis / mTileWidth);
+        int last = (int) Math.floor((index + 1) * (double) mIntervalDis / mTileWidth);
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (mTiles[slot] >= first && mTiles[slot] <= last) {
+                mTiles[slot] = NONE;
+            }
+        }
+    }
+
+    /**
+     * Replay the tiles visible at the given scroll offset, recording those that are missing. The
+     * canvas is in content coordinates minus originX, so tiles far into a long strip are placed
+     * with small float offsets.
+     *
+     * @param originX    whole-pixel scroll offset, content x at the left edge of the view
+     * @param firstIndex first item index that may be drawn, may be negative for the over-scroll marks
+     * @param endIndex   end of the drawable item range, exclusive
+     * @return the number of draw calls issued, recording included
+     */
+    int draw(Canvas canvas, double originX, int width, int height, float intervalDis, int firstIndex, int endIndex) {
+        if (width != mTileWidth || height != mTileHeight || intervalDis != mIntervalDis
+                || firstIndex != mFirstIndex || endIndex != mEndIndex) {
+            mTileWidth = width;
+            mTileHeight = height;
+            mIntervalDis = intervalDis;
+            mFirstIndex = firstIndex;
+            mEndIndex = endIndex;
+            invalidateAll();
+        }
+        if (width <= 0 || height <= 0 || intervalDis <= 0) {
+            return 0;
+        }
+        boolean renderNode = Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && canvas.isHardwareAccelerated();
+        int firstTile = (int) Math.floor(originX / width);
+        int lastTile = (int) Math.floor((originX + width - 1) / width);
+        int ops = 0;
+        for (int tile = firstTile; tile <= lastTile; tile++) {
+            int slot = ((tile % SLOTS) + SLOTS) % SLOTS;
+            if (mTiles[slot] != tile) {
+                ops += renderNode ? recordNode(slot, tile) : recordPicture(slot, tile);
+                mTiles[slot] = tile;
+            }
+            int save = canvas.save();
+            canvas.translate((float) (tile * (double) width - originX), 0);
+            if (renderNode) {
+                Api29.draw(canvas, mNodes[slot]);
+            } else {
+                canvas.drawPicture(mPictures[slot]);
+            }
+            canvas.restoreToCount(save);
+            ops++;
+        }
+        return ops;
+    }
+
+    private int recordPicture(int slot, int tile) {
+        if (mPictures[slot] == null) {
+            mPictures[slot] = new Picture();
+        }
+        Picture picture = mPictures[slot];
+        Canvas canvas = picture.beginRecording(mTileWidth, mTileHeight);
+        int ops = recordTile(canvas, tile);
+        picture.endRecording();
+        return ops;
+    }
+
+    private int recordNode(int slot, int tile) {
+        if (mNodes[slot] == null) {
+            mNodes[slot] = Api29.create();
+        }
+        Canvas canvas = Api29.beginRecording(mNodes[slot], mTileWidth, mTileHeight);
+        int ops = recordTile(canvas, tile);
+        Api29.endRecording(mNodes[slot]);
+        return ops;
+    }
+
+    private int recordTile(Canvas canvas, int tile) {
+        double left = tile * (double) mTileWidth;
+        double right = left + mTileWidth;
+        canvas.clipRect(0, 0, mTileWidth, mTileHeight);
+        // items one interval outside the tile still reach into it with their marks or labels
+        int start = Math.max(mFirstIndex, (int) Math.floor(left / mIntervalDis) - 1);
+        int end = Math.min(mEndIndex, (int) Math.ceil(right / mIntervalDis) + 2);
+        return start < end ? mPainter.drawItems(canvas, start, end, left) : 0;
+    }
+
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private static final class Api29 {
+        static Object create() {
+            return new RenderNode("HorizontalWheelPicker.strip");
+        }
+
+        static Canvas beginRecording(Object node, int width, int height) {
+            RenderNode renderNode = (RenderNode) node;
+            renderNode.setPosition(0, 0, width, height);
+            return renderNode.beginRecording(width, height);
+        }
+
+        static void endRecording(Object node) {
+            ((RenderNode) node).endRecording();
+        }
+
+        static void draw(Canvas canvas, Object node) {
+            canvas.drawRenderNode((RenderNode) node);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.view.picker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Measured text widths per text size, shared by the pickers of a {@link WheelGroup} so labels that
+ * several wheels show are measured once. Safe to use from the measurement executor.
+ */
+final class TextWidthCache {
+    // per text size. A full map keeps what it has and takes nothing more: clearing it made wheels with
+    // more labels than this wipe and refill it on every load
+    static final int MAX_ENTRIES = 4096;
+
+    private final ArrayList<Float> mSizes = new ArrayList<>();
+    private final ArrayList<HashMap<String, Integer>> mWidths = new ArrayList<>();
+
+    /**
+     * @return the cached width, -1 if unknown
+     */
+    synchronized int get(float textSize, String text) {
+        HashMap<String, Integer> widths = find(textSize);
+        if (widths == null) {
+            return -1;
+        }
+        Integer width = widths.get(text);
+        return width == null ? -1 : width;
+    }
+
+    synchronized void put(float textSize, String text, int width) {
+        HashMap<String, Integer> widths = find(textSize);
+        if (widths == null) {
+            widths = new HashMap<>();
+            mSizes.add(textSize);
+            mWidths.add(widths);
+        } else if (widths.size() >= MAX_ENTRIES) {
+            return;
+        }
+        widths.put(text, width);
+    }
+
+    /**
+     * @return number of widths cached for the text size
+     */
+    synchronized int size(float textSize) {
+        HashMap<String, Integer> widths = find(textSize);
+        return widths == null ? 0 : widths.size();
+    }
+
+    synchronized void clear() {
+        mSizes.clear();
+        mWidths.clear();
+    }
+
+    private HashMap<String, Integer> find(float textSize) {
+        for (int i = 0; i < mSizes.size(); i++) {
+            if (mSizes.get(i) == textSize) {
+                return mWidths.get(i);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,74 @@
+package com.view.picker;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+import java.util.Arrays;
+
+/**
+ * Collects hash mark lines into one preallocated buffer per paint state, so a whole ruler is
+ * drawn with one {@link Canvas#drawLines(float[], int, int, Paint)} call per state instead of a
+ * color and stroke change plus a drawLine for every mark.
+ */
+final class TickRenderer {
+    static final int GROUP_MAJOR = 0;
+    static final int GROUP_MINOR = 1;
+    static final int GROUP_MAJOR_HIGHLIGHT = 2;
+    static final int GROUP_MINOR_FADE = 3;
+    private static final int GROUP_COUNT = 4;
+
+    private final float[][] mLines = new float[GROUP_COUNT][];
+    private final int[] mCounts = new int[GROUP_COUNT];
+
+    TickRenderer() {
+        for (int group = 0; group < GROUP_COUNT; group++) {
+            mLines[group] = new float[64];
+        }
+    }
+
+    /**
+     * Clear all groups, making room for the given number of items so adding never reallocates.
+     */
+    void begin(int itemCount) {
+        // one major and four minor marks per item, four floats per line
+        ensureCapacity(GROUP_MAJOR, itemCount * 4);
+        ensureCapacity(GROUP_MINOR, itemCount * 16);
+        Arrays.fill(mCounts, 0);
+    }
+
+    void add(int group, float x, float startY, float stopY) {
+        float[] lines = mLines[group];
+        int count = mCounts[group];
+        if (count + 4 > lines.length) {
+            lines = ensureCapacity(group, count + 4);
+        }
+        lines[count] = x;
+        lines[count + 1] = startY;
+        lines[count + 2] = x;
+        lines[count + 3] = stopY;
+        mCounts[group] = count + 4;
+    }
+
+    /**
+     * @return the number of draw calls issued
+     */
+    int draw(Canvas canvas, Paint paint, int group, int color, float strokeWidth) {
+        int count = mCounts[group];
+        if (count == 0) {
+            return 0;
+        }
+        paint.setColor(color);
+        paint.setStrokeWidth(strokeWidth);
+        canvas.drawLines(mLines[group], 0, count, paint);
+        return 1;
+    }
+
+    private float[] ensureCapacity(int group, int capacity) {
+        float[] lines = mLines[group];
+        if (capacity > lines.length) {
+            lines = Arrays.copyOf(lines, Math.max(capacity, lines.length * 2));
+            mLines[group] = lines;
+        }
+        return lines;
+    }
+}
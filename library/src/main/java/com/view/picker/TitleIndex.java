@@ -0,0 +1,137 @@
+package com.view.picker;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Item titles keyed by item index, kept as sorted parallel {@code int[]}/{@code String[]} arrays.
+ * Lookups don't box, and {@link #ceilingSlot(int)} finds the first title of a visible window so
+ * drawing can walk only the titles inside it.
+ */
+final class TitleIndex {
+    private int[] mKeys = new int[8];
+    private String[] mValues = new String[8];
+    private int mSize;
+
+    int size() {
+        return mSize;
+    }
+
+    int keyAt(int slot) {
+        return mKeys[slot];
+    }
+
+    String valueAt(int slot) {
+        return mValues[slot];
+    }
+
+    String get(int index) {
+        int slot = Arrays.binarySearch(mKeys, 0, mSize, index);
+        return slot >= 0 ? mValues[slot] : null;
+    }
+
+    /**
+     * @return slot of the first title whose index is not less than the given one, {@link #size()} if none
+     */
+    int ceilingSlot(int index) {
+        int slot = Arrays.binarySearch(mKeys, 0, mSize, index);
+        return slot >= 0 ? slot : -slot - 1;
+    }
+
+    void put(int index, String title) {
+        if (title == null) {
+            remove(index);
+            return;
+        }
+        int slot = Arrays.binarySearch(mKeys, 0, mSize, index);
+        if (slot >= 0) {
+            mValues[slot] = title;
+            return;
+        }
+        slot = -slot - 1;
+        if (mSize == mKeys.length) {
+            int capacity = mSize * 2;
+            mKeys = Arrays.copyOf(mKeys, capacity);
+            mValues = Arrays.copyOf(mValues, capacity);
+        }
+        System.arraycopy(mKeys, slot, mKeys, slot + 1, mSize - slot);
+        System.arraycopy(mValues, slot, mValues, slot + 1, mSize - slot);
+        mKeys[slot] = index;
+        mValues[slot] = title;
+        mSize++;
+    }
+
+    void putAll(Map<Integer, String> titles) {
+        for (Map.Entry<Integer, String> entry : titles.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Replace all titles, sorting once instead of inserting one by one.
+     */
+    void replaceAll(Map<Integer, String> titles) {
+        int count = 0;
+        int[] keys = new int[Math.max(8, titles.size())];
+        for (Map.Entry<Integer, String> entry : titles.entrySet()) {
+            if (entry.getValue() != null) {
+                keys[count++] = entry.getKey();
+            }
+        }
+        Arrays.sort(keys, 0, count);
+        String[] values = new String[keys.length];
+        for (int i = 0; i < count; i++) {
+            values[i] = titles.get(keys[i]);
+        }
+        mKeys = keys;
+        mValues = values;
+        mSize = count;
+    }
+
+    void remove(int index) {
+        int slot = Arrays.binarySearch(mKeys, 0, mSize, index);
+        if (slot < 0) {
+            return;
+        }
+        System.arraycopy(mKeys, slot + 1, mKeys, slot, mSize - slot - 1);
+        System.arraycopy(mValues, slot + 1, mValues, slot, mSize - slot - 1);
+        mSize--;
+        mValues[mSize] = null;
+    }
+
+    /**
+     * Drop the titles of items in [start, end) and move the titles after them down by the removed count.
+     */
+    void removeRange(int start, int end) {
+        int from = ceilingSlot(start);
+        int to = ceilingSlot(end);
+        System.arraycopy(mKeys, to, mKeys, from, mSize - to);
+        System.arraycopy(mValues, to, mValues, from, mSize - to);
+        Arrays.fill(mValues, mSize - (to - from), mSize, null);
+        mSize -= to - from;
+        shift(start, start - end);
+    }
+
+    /**
+     * Add delta to the index of every title at or after the given index.
+     */
+    void shift(int fromIndex, int delta) {
+        for (int slot = ceilingSlot(fromIndex); slot < mSize; slot++) {
+            mKeys[slot] += delta;
+        }
+    }
+
+    void clear() {
+        Arrays.fill(mValues, 0, mSize, null);
+        mSize = 0;
+    }
+
+    /**
+     * Replace the content with a copy of another index.
+     */
+    void copyFrom(TitleIndex other) {
+        mKeys = Arrays.copyOf(other.mKeys, Math.max(8, other.mSize));
+        mValues = Arrays.copyOf(other.mValues, Math.max(8, other.mSize));
+        mSize = other.mSize;
+    }
+}
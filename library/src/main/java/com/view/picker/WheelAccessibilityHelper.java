@@ -0,0 +1,139 @@
+package com.view.picker;
+
+import android.graphics.Rect;
+import android.os.Bundle;
+import android.view.accessibility.AccessibilityEvent;
+
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
+import androidx.customview.widget.ExploreByTouchHelper;
+
+import java.util.List;
+
+/**
+ * Exposes the items of a {@link HorizontalWheelPicker} as virtual views. Only the items inside the
+ * visible window around the center index get a node, so the cost of an accessibility query doesn't
+ * depend on the number of items. Virtual view ids are item indices.
+ */
+class WheelAccessibilityHelper extends ExploreByTouchHelper {
+    private final HorizontalWheelPicker mPicker;
+    private final WheelLayout mLayout;
+    private final Rect mBounds = new Rect();
+
+    WheelAccessibilityHelper(HorizontalWheelPicker picker, WheelLayout layout) {
+        super(picker);
+        mPicker = picker;
+        mLayout = layout;
+    }
+
+    @Override
+    protected int getVirtualViewAt(float x, float y) {
+        int index = mLayout.itemIndexAt(mPicker.getScrollPosition() + x);
+        return index < 0 ? INVALID_ID : index;
+    }
+
+    @Override
+    protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+        int center = mPicker.getSelectedPosition();
+        int viewScopeSize = mLayout.getViewScopeSize();
+        int count = mLayout.getItemCount();
+        if (mLayout.isProportional()) {
+            // slots differ in width, search the offsets of the view edges instead
+            double scrollX = mPicker.getScrollPosition();
+            int first = mLayout.firstVisiblePosition(scrollX);
+            int last = mLayout.lastVisiblePosition(scrollX, mPicker.getWidth());
+            if (mLayout.isLoop()) {
+                last = Math.min(last, first + count - 1);
+            } else {
+                first = Math.max(0, first);
+                last = Math.min(count - 1, last);
+            }
+            for (int i = first; i <= last; i++) {
+                virtualViewIds.add(mLayout.wrap(i));
+            }
+            return;
+        }
+        if (mLayout.isLoop()) {
+            // each item once, even when the window holds more than one period
+            int start = center - Math.min(viewScopeSize, (count - 1) / 2);
+            int end = Math.min(center + viewScopeSize, start + count - 1);
+            for (int i = start; i <= end; i++) {
+                virtualViewIds.add(mLayout.wrap(i));
+            }
+            return;
+        }
+        int start = Math.max(0, center - viewScopeSize);
+        int end = Math.min(count - 1, center + viewScopeSize);
+        for (int i = start; i <= end; i++) {
+            virtualViewIds.add(i);
+        }
+    }
+
+    @Override
+    protected void onPopulateNodeForVirtualView(int virtualViewId, AccessibilityNodeInfoCompat node) {
+        WheelAdapter adapter = mPicker.getAdapter();
+        if (null == adapter || virtualViewId >= adapter.getItemCount()) {
+            // the item went away since the framework asked for it, a node still needs text and bounds
+            node.setText("");
+            mBounds.set(0, 0, 1, 1);
+            node.setBoundsInParent(mBounds);
+            return;
+        }
+        CharSequence label = adapter.getItem(virtualViewId);
+        String title = mPicker.getTitle(virtualViewId);
+        node.setText(null == title ? label : label + ", " + title);
+        node.setSelected(virtualViewId == mPicker.getSelectedPosition());
+        boolean selectable = virtualViewId >= mLayout.getMinSelectableIndex()
+                && virtualViewId <= mLayout.getMaxSelectableIndex();
+        node.setEnabled(selectable && mPicker.isEnabled());
+        if (selectable) {
+            node.setClickable(true);
+            node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+        }
+
+        float slotWidth = mLayout.slotWidth(virtualViewId);
+        double scrollX = mPicker.getScrollPosition();
+        float x = (float) (mLayout.xOf(mLayout.nearestPosition(virtualViewId, scrollX)) - scrollX);
+        mBounds.set((int) (x - slotWidth / 2), 0, (int) (x + slotWidth / 2), mPicker.getHeight());
+        node.setBoundsInParent(mBounds);
+    }
+
+    @Override
+    protected void onPopulateNodeForHost(AccessibilityNodeInfoCompat node) {
+        node.setScrollable(true);
+        int center = mPicker.getSelectedPosition();
+        if (mLayout.isLoop() || center > mLayout.getMinSelectableIndex()) {
+            node.addAction(AccessibilityNodeInfoCompat.ACTION_SCROLL_BACKWARD);
+        }
+        if (mLayout.isLoop() || center < mLayout.getMaxSelectableIndex()) {
+            node.addAction(AccessibilityNodeInfoCompat.ACTION_SCROLL_FORWARD);
+        }
+    }
+
+    @Override
+    protected boolean onPerformActionForVirtualView(int virtualViewId, int action, Bundle arguments) {
+        if (action == AccessibilityNodeInfoCompat.ACTION_CLICK && mPicker.isEnabled()
+                && virtualViewId >= mLayout.getMinSelectableIndex()
+                && virtualViewId <= mLayout.getMaxSelectableIndex()) {
+            mPicker.settleOn(virtualViewId);
+            sendEventForVirtualView(virtualViewId, AccessibilityEvent.TYPE_VIEW_CLICKED);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Move the selection by one page of visible items.
+     *
+     * @return whether the action was handled
+     */
+    boolean scrollPage(boolean forward) {
+        int page = Math.max(1, mLayout.getViewScopeSize());
+        int center = mPicker.getSelectedPosition();
+        int target = mLayout.safeCenter(forward ? center + page : center - page);
+        if (target == center) {
+            return false;
+        }
+        mPicker.settleOn(target);
+        return true;
+    }
+}
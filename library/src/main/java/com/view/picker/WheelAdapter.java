@@ -0,0 +1,29 @@
+package com.view.picker;
+
+/**
+ * Data source for {@link HorizontalWheelPicker}.
+ * <p>
+ * The picker only asks for the items inside its visible window around the center index,
+ * so an adapter may compute labels on demand instead of holding them all in memory.
+ */
+public interface WheelAdapter {
+
+    /**
+     * @return total number of items in the wheel
+     */
+    int getItemCount();
+
+    /**
+     * @param position index in [0, {@link #getItemCount()})
+     * @return label of the item at the given position
+     */
+    CharSequence getItem(int position);
+
+    /**
+     * Label that is at least as wide as any item, used to compute the interval between marks
+     * without measuring every item. Return null to let the picker measure all items instead.
+     *
+     * @return the widest label, or null if unknown
+     */
+    CharSequence getWidthHint();
+}
@@ -0,0 +1,103 @@
+package com.view.picker;
+
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Coordinates several pickers shown together, e.g. the day, month and year wheels of a date.
+ * <p>
+ * Members share a text measurement cache, so labels that several wheels show are measured once.
+ * Dependent updates are declared as {@link Rule}s; when members settle on new items the rules run
+ * once, in the order they were added, on the next Choreographer frame. Changes the rules make land in
+ * that same frame, together with the selection that caused them.
+ */
+public class WheelGroup {
+    /**
+     * A dependent update, such as re-ranging a day wheel when the month changes.
+     */
+    public interface Rule {
+        void apply(WheelGroup group);
+    }
+
+    private final List<HorizontalWheelPicker> mMembers = new ArrayList<>();
+    private final List<Rule> mRules = new ArrayList<>();
+    private final TextWidthCache mWidthCache = new TextWidthCache();
+    private boolean mUpdatePosted;
+    private boolean mUpdating;
+
+    private final Choreographer.FrameCallback mUpdateCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mUpdatePosted = false;
+            applyRules();
+        }
+    };
+
+    public void add(HorizontalWheelPicker picker) {
+        if (mMembers.contains(picker)) {
+            return;
+        }
+        WheelGroup previous = picker.getGroup();
+        if (null != previous) {
+            previous.remove(picker);
+        }
+        mMembers.add(picker);
+        picker.setGroup(this);
+    }
+
+    public void remove(HorizontalWheelPicker picker) {
+        if (mMembers.remove(picker)) {
+            picker.setGroup(null);
+        }
+    }
+
+    public int size() {
+        return mMembers.size();
+    }
+
+    public HorizontalWheelPicker get(int index) {
+        return mMembers.get(index);
+    }
+
+    public void addRule(Rule rule) {
+        mRules.add(rule);
+    }
+
+    public void removeRule(Rule rule) {
+        mRules.remove(rule);
+    }
+
+    /**
+     * Run the rules on the next frame, e.g. after setting up the members.
+     */
+    public void requestUpdate() {
+        if (!mUpdatePosted) {
+            mUpdatePosted = true;
+            Choreographer.getInstance().postFrameCallback(mUpdateCallback);
+        }
+    }
+
+    TextWidthCache getWidthCache() {
+        return mWidthCache;
+    }
+
+    void onMemberSelected(HorizontalWheelPicker picker) {
+        // selections made by the rules themselves are part of the running pass
+        if (!mUpdating) {
+            requestUpdate();
+        }
+    }
+
+    private void applyRules() {
+        mUpdating = true;
+        try {
+            for (int i = 0; i < mRules.size(); i++) {
+                mRules.get(i).apply(this);
+            }
+        } finally {
+            mUpdating = false;
+        }
+    }
+}
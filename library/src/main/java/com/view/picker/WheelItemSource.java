@@ -0,0 +1,106 @@
+package com.view.picker;
+
+import android.graphics.Rect;
+import android.text.TextPaint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Items and titles shared by any number of pickers, such as the rows of a RecyclerView, through
+ * {@link HorizontalWheelPicker#bind(WheelItemSource, WheelPosition)}.
+ * <p>
+ * A source never changes once created. Its labels are measured once per text size, by the first
+ * picker bound to it, and binding more pickers neither copies nor measures anything. A picker with
+ * a {@link HorizontalWheelPicker#setMeasureExecutor(java.util.concurrent.Executor) measure executor}
+ * measures a new source there instead of while binding.
+ */
+public final class WheelItemSource {
+    private final WheelAdapter mAdapter;
+    private final TitleIndex mTitles = new TitleIndex();
+    private final Map<Float, Widths> mWidths = new HashMap<>();
+
+    public WheelItemSource(List<String> items) {
+        this(items, null);
+    }
+
+    /**
+     * @param items  labels, copied once
+     * @param titles titles by item index, or null
+     */
+    public WheelItemSource(List<String> items, Map<Integer, String> titles) {
+        this(new ListWheelAdapter(Collections.unmodifiableList(new ArrayList<>(items))), titles);
+    }
+
+    /**
+     * @param adapter items, which must not change while the source is in use. A
+     *                {@link PagedWheelAdapter} can't be shared, it notifies a single picker.
+     * @param titles  titles by item index, or null
+     */
+    public WheelItemSource(WheelAdapter adapter, Map<Integer, String> titles) {
+        mAdapter = adapter;
+        if (null != titles) {
+            mTitles.replaceAll(titles);
+        }
+    }
+
+    public WheelAdapter getAdapter() {
+        return mAdapter;
+    }
+
+    public int getItemCount() {
+        return mAdapter.getItemCount();
+    }
+
+    TitleIndex titles() {
+        return mTitles;
+    }
+
+    /**
+     * @return label widths at the text size of the paint, measured on first use on the calling thread
+     */
+    Widths widths(TextPaint paint) {
+        Widths widths = peekWidths(paint.getTextSize());
+        if (null != widths) {
+            return widths;
+        }
+        // measured outside the lock so a picker peeking from the UI thread never waits for it
+        widths = new Widths();
+        Rect bounds = new Rect();
+        CharSequence hint = mAdapter.getWidthHint();
+        if (null != hint) {
+            widths.max = HorizontalWheelPicker.measureTextWidth(paint, hint, bounds, null);
+        } else {
+            widths.items = HorizontalWheelPicker.measureWidths(paint, mAdapter, 0, mAdapter.getItemCount(), bounds, null);
+            for (int width : widths.items) {
+                widths.max = Math.max(widths.max, width);
+            }
+        }
+        synchronized (mWidths) {
+            Widths measured = mWidths.get(paint.getTextSize());
+            if (null != measured) {
+                return measured;
+            }
+            mWidths.put(paint.getTextSize(), widths);
+        }
+        return widths;
+    }
+
+    /**
+     * @return label widths at the given text size, null if they weren't measured yet
+     */
+    Widths peekWidths(float textSize) {
+        synchronized (mWidths) {
+            return mWidths.get(textSize);
+        }
+    }
+
+    static final class Widths {
+        // per item, null when the adapter supplies a width hint
+        int[] items;
+        int max;
+    }
+}
@@ -0,0 +1,333 @@
+package com.view.picker;
+
+/**
+ * Scroll geometry of a {@link HorizontalWheelPicker}: maps between scroll offsets and item indices
+ * and computes the bounds used by dragging and flinging.
+ * <p>
+ * Scroll offsets are doubles in the coordinates of {@link android.view.View#getScrollX()}: item {@code i}
+ * sits under the center indicator when the scroll offset is {@code i * intervalDis - maxOverScrollDistance}.
+ * A float would lose whole pixels per step past a few hundred thousand items, so offsets stay doubles
+ * until they are turned into small view-relative floats for drawing.
+ * <p>
+ * In loop mode item positions are unbounded and map to items modulo the item count; the picker keeps
+ * its scroll offset within the first period so it never overflows. The selectable range doesn't apply.
+ * <p>
+ * With proportional spacing each item gets a slot of its own width, kept in {@link SlotOffsets}, and
+ * the offsets above become prefix sums of the slot widths, searched in O(log n). Positions past the
+ * ends repeat the width of the edge item. Until a slot width is known for every item, the shared
+ * interval is used.
+ * This class has no Android dependencies so it can be benchmarked and tested on the plain JVM.
+ */
+final class WheelLayout {
+    private int mItemCount;
+    private float mIntervalDis;
+    private float mMaxOverScrollDistance;
+    private int mMinSelectableIndex = Integer.MIN_VALUE;
+    private int mMaxSelectableIndex = Integer.MAX_VALUE;
+    private boolean mLoop;
+    private SlotOffsets mSlots;
+
+    int getItemCount() {
+        return mItemCount;
+    }
+
+    /**
+     * Set the item count, narrowing the selectable range to the available items.
+     */
+    void setItemCount(int itemCount) {
+        mItemCount = itemCount;
+        if (mItemCount > 0) {
+            mMinSelectableIndex = Math.max(mMinSelectableIndex, 0);
+            mMaxSelectableIndex = Math.min(mMaxSelectableIndex, mItemCount - 1);
+        }
+    }
+
+    boolean isLoop() {
+        return mLoop;
+    }
+
+    void setLoop(boolean loop) {
+        mLoop = loop;
+    }
+
+    /**
+     * @return the item shown at a position, the position itself unless looping
+     */
+    int wrap(int position) {
+        return mLoop && mItemCount > 0 ? Math.floorMod(position, mItemCount) : position;
+    }
+
+    boolean isProportional() {
+        return null != mSlots;
+    }
+
+    void setProportional(boolean proportional) {
+        mSlots = proportional ? new SlotOffsets() : null;
+    }
+
+    /**
+     * Replace the slot widths of proportional spacing, taking ownership of the given array.
+     */
+    void setSlotWidths(float[] widths, int count) {
+        if (null != mSlots) {
+            mSlots.load(widths, count);
+        }
+    }
+
+    void setSlotWidth(int index, float width) {
+        if (slotted()) {
+            mSlots.set(index, width);
+        }
+    }
+
+    private boolean slotted() {
+        return null != mSlots && mItemCount > 0 && mSlots.size() == mItemCount;
+    }
+
+    /**
+     * @return the shared interval between items; with proportional spacing the widest slot
+     */
+    float getIntervalDis() {
+        return mIntervalDis;
+    }
+
+    /**
+     * @return width of the slot of the item at a position
+     */
+    float slotWidth(int position) {
+        if (!slotted()) {
+            return mIntervalDis;
+        }
+        if (mLoop) {
+            return mSlots.get(wrap(position));
+        }
+        return mSlots.get(Math.max(0, Math.min(position, mItemCount - 1)));
+    }
+
+    /**
+     * @return content x of the center of the item at a position, 0 for the first item
+     */
+    double xOf(int position) {
+        if (!slotted()) {
+            return position * (double) mIntervalDis;
+        }
+        if (mLoop) {
+            int period = Math.floorDiv(position, mItemCount);
+            return period * mSlots.total() + slotCenter(position - period * mItemCount);
+        }
+        if (position < 0) {
+            return position * (double) mSlots.get(0);
+        } else if (position >= mItemCount) {
+            int last = mItemCount - 1;
+            return slotCenter(last) + (position - last) * (double) mSlots.get(last);
+        }
+        return slotCenter(position);
+    }
+
+    private double slotCenter(int index) {
+        return mSlots.prefix(index) + mSlots.get(index) / 2.0 - mSlots.get(0) / 2.0;
+    }
+
+    /**
+     * @return the position whose slot holds the given content x
+     */
+    private int positionOfX(double contentX) {
+        if (!slotted()) {
+            return (int) Math.round(contentX / mIntervalDis);
+        }
+        double offset = contentX + mSlots.get(0) / 2.0;
+        double total = mSlots.total();
+        if (mLoop) {
+            int period = (int) Math.floor(offset / total);
+            return period * mItemCount + mSlots.search(offset - period * total);
+        }
+        if (offset < 0) {
+            return (int) Math.round(contentX / mSlots.get(0));
+        } else if (offset >= total) {
+            int last = mItemCount - 1;
+            return last + (int) Math.round((contentX - slotCenter(last)) / mSlots.get(last));
+        }
+        return mSlots.search(offset);
+    }
+
+    /**
+     * @return first position whose slot reaches into the view at the given scroll offset
+     */
+    int firstVisiblePosition(double scrollX) {
+        return mIntervalDis <= 0 && !slotted() ? 0 : positionOfX(scrollX);
+    }
+
+    /**
+     * @return last position whose slot reaches into a view of the given width at the given scroll offset
+     */
+    int lastVisiblePosition(double scrollX, int viewWidth) {
+        return mIntervalDis <= 0 && !slotted() ? 0 : positionOfX(scrollX + viewWidth);
+    }
+
+    void setIntervalDis(float intervalDis) {
+        mIntervalDis = intervalDis;
+    }
+
+    /**
+     * @return distance between the left edge of the view and the center indicator
+     */
+    float getMaxOverScrollDistance() {
+        return mMaxOverScrollDistance;
+    }
+
+    void setMaxOverScrollDistance(float maxOverScrollDistance) {
+        mMaxOverScrollDistance = maxOverScrollDistance;
+    }
+
+    int getMinSelectableIndex() {
+        return mMinSelectableIndex;
+    }
+
+    void setMinSelectableIndex(int minSelectableIndex) {
+        if (minSelectableIndex > mMaxSelectableIndex) {
+            minSelectableIndex = mMaxSelectableIndex;
+        }
+        mMinSelectableIndex = minSelectableIndex;
+    }
+
+    int getMaxSelectableIndex() {
+        return mMaxSelectableIndex;
+    }
+
+    void setMaxSelectableIndex(int maxSelectableIndex) {
+        if (maxSelectableIndex < mMinSelectableIndex) {
+            maxSelectableIndex = mMinSelectableIndex;
+        }
+        mMaxSelectableIndex = maxSelectableIndex;
+    }
+
+    /**
+     * Restore both bounds at once, without the ordering checks of the individual setters.
+     */
+    void setSelectableRange(int minSelectableIndex, int maxSelectableIndex) {
+        mMinSelectableIndex = minSelectableIndex;
+        mMaxSelectableIndex = maxSelectableIndex;
+    }
+
+    /**
+     * @return distance between the first and the last item
+     */
+    double getContentWidth() {
+        return xOf(mItemCount - 1);
+    }
+
+    /**
+     * @return number of items that fit between the center indicator and one edge of the view, for
+     * proportional spacing at the average slot width
+     */
+    int getViewScopeSize() {
+        float intervalDis = slotted() ? (float) (mSlots.total() / mItemCount) : mIntervalDis;
+        return intervalDis > 0 ? (int) Math.ceil(mMaxOverScrollDistance / intervalDis) : 0;
+    }
+
+    /**
+     * limit center index in bounds.
+     */
+    int safeCenter(int center) {
+        if (mLoop) {
+            return wrap(center);
+        }
+        if (center < mMinSelectableIndex) {
+            center = mMinSelectableIndex;
+        } else if (center > mMaxSelectableIndex) {
+            center = mMaxSelectableIndex;
+        }
+        return center;
+    }
+
+    /**
+     * @param contentX view x plus the scroll offset
+     * @return item drawn at the given position, -1 if there is none
+     */
+    int itemIndexAt(double contentX) {
+        if (mIntervalDis <= 0 && !slotted()) {
+            return -1;
+        }
+        int index = wrap(positionOfX(contentX));
+        return index >= 0 && index < mItemCount ? index : -1;
+    }
+
+    /**
+     * @return scroll offset that puts the given item under the center indicator
+     */
+    double scrollXOf(int index) {
+        return xOf(index) - mMaxOverScrollDistance;
+    }
+
+    /**
+     * @return selectable index closest to the center indicator at the given scroll offset
+     */
+    int centerIndexAt(double scrollX) {
+        return safeCenter(positionAt(scrollX));
+    }
+
+    /**
+     * @return position closest to the center indicator at the given scroll offset, limited to the
+     * selectable range unless looping
+     */
+    int positionAt(double scrollX) {
+        int position = positionOfX(scrollX + mMaxOverScrollDistance);
+        return mLoop ? position : safeCenter(position);
+    }
+
+    /**
+     * @return the position of the item closest to the given scroll offset, the item itself unless looping
+     */
+    int nearestPosition(int index, double scrollX) {
+        if (!mLoop || mItemCount <= 0) {
+            return index;
+        }
+        int position = positionAt(scrollX);
+        return index + mItemCount * Math.round((position - index) / (float) mItemCount);
+    }
+
+    /**
+     * @return number of positions, a multiple of the item count, to subtract from the position at the
+     * given scroll offset to bring it back into the first period; 0 unless looping
+     */
+    int loopShift(double scrollX) {
+        if (!mLoop || mItemCount <= 0 || mIntervalDis <= 0 && !slotted()) {
+            return 0;
+        }
+        return Math.floorDiv(positionAt(scrollX), mItemCount) * mItemCount;
+    }
+
+    double minScrollX() {
+        return scrollXOf(mMinSelectableIndex);
+    }
+
+    double maxScrollX() {
+        return scrollXOf(mMaxSelectableIndex);
+    }
+
+    /**
+     * Apply over-scroll resistance to a drag: a quarter of the distance past the selectable range,
+     * nothing once half the view has been pulled past it.
+     */
+    float dampScroll(double scrollX, float distanceX) {
+        if (mLoop) {
+            return distanceX;
+        } else if (scrollX < minScrollX() - mMaxOverScrollDistance) {
+            return 0;
+        } else if (scrollX < minScrollX()) {
+            return distanceX / 4.f;
+        } else if (scrollX > maxScrollX() + mMaxOverScrollDistance) {
+            return 0;
+        } else if (scrollX > maxScrollX()) {
+            return distanceX / 4.f;
+        }
+        return distanceX;
+    }
+
+    /**
+     * @return whether a fling may start from the given scroll offset
+     */
+    boolean canFling(double scrollX) {
+        return mLoop || scrollX >= minScrollX() && scrollX <= maxScrollX();
+    }
+}
@@ -0,0 +1,128 @@
+package com.view.picker;
+
+/**
+ * Frame statistics of a {@link HorizontalWheelPicker}, collected only while a
+ * {@link WheelMetricsListener} is attached.
+ * <p>
+ * The "last" values describe the most recent frame, the others accumulate until {@link #reset()}.
+ * A single instance is reused for the lifetime of the listener, so copy values you need to keep.
+ */
+public final class WheelMetrics {
+    public static final int STATE_IDLE = 0;
+    public static final int STATE_DRAGGING = 1;
+    public static final int STATE_FLINGING = 2;
+    public static final int STATE_SETTLING = 3;
+
+    private long mLastDrawTimeNanos;
+    private int mLastVisibleItemCount;
+    private int mLastDrawOps;
+    private int mLastState;
+
+    private long mFrameCount;
+    private long mFlingFrameCount;
+    private long mSettleFrameCount;
+    private long mDroppedFrameCount;
+    private long mTotalDrawTimeNanos;
+    private long mMaxDrawTimeNanos;
+    private long mTotalDrawOps;
+
+    WheelMetrics() {
+    }
+
+    void recordFrame(long drawTimeNanos, int visibleItemCount, int drawOps, int state) {
+        mLastDrawTimeNanos = drawTimeNanos;
+        mLastVisibleItemCount = visibleItemCount;
+        mLastDrawOps = drawOps;
+        mLastState = state;
+        mFrameCount++;
+        if (state == STATE_FLINGING) {
+            mFlingFrameCount++;
+        } else if (state == STATE_SETTLING) {
+            mSettleFrameCount++;
+        }
+        mTotalDrawTimeNanos += drawTimeNanos;
+        mMaxDrawTimeNanos = Math.max(mMaxDrawTimeNanos, drawTimeNanos);
+        mTotalDrawOps += drawOps;
+    }
+
+    void recordDroppedFrames(int count) {
+        mDroppedFrameCount += count;
+    }
+
+    /**
+     * @return duration of the last onDraw in nanoseconds
+     */
+    public long getLastDrawTimeNanos() {
+        return mLastDrawTimeNanos;
+    }
+
+    /**
+     * @return number of items drawn in the last frame
+     */
+    public int getLastVisibleItemCount() {
+        return mLastVisibleItemCount;
+    }
+
+    /**
+     * @return number of canvas draw calls issued by the last frame
+     */
+    public int getLastDrawOps() {
+        return mLastDrawOps;
+    }
+
+    /**
+     * @return one of the STATE_ constants describing what drove the last frame
+     */
+    public int getLastState() {
+        return mLastState;
+    }
+
+    public long getFrameCount() {
+        return mFrameCount;
+    }
+
+    public long getFlingFrameCount() {
+        return mFlingFrameCount;
+    }
+
+    public long getSettleFrameCount() {
+        return mSettleFrameCount;
+    }
+
+    /**
+     * @return frames skipped by the Choreographer while a fling or settle animation was running
+     */
+    public long getDroppedFrameCount() {
+        return mDroppedFrameCount;
+    }
+
+    public long getTotalDrawTimeNanos() {
+        return mTotalDrawTimeNanos;
+    }
+
+    public long getMaxDrawTimeNanos() {
+        return mMaxDrawTimeNanos;
+    }
+
+    public long getTotalDrawOps() {
+        return mTotalDrawOps;
+    }
+
+    public void reset() {
+        mFrameCount = 0;
+        mFlingFrameCount = 0;
+        mSettleFrameCount = 0;
+        mDroppedFrameCount = 0;
+        mTotalDrawTimeNanos = 0;
+        mMaxDrawTimeNanos = 0;
+        mTotalDrawOps = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "WheelMetrics{frames=" + mFrameCount + " fling=" + mFlingFrameCount
+                + " settle=" + mSettleFrameCount + " dropped=" + mDroppedFrameCount
+                + " drawNanos=" + mTotalDrawTimeNanos + " maxDrawNanos=" + mMaxDrawTimeNanos
+                + " drawOps=" + mTotalDrawOps + "}";
+    }
+}
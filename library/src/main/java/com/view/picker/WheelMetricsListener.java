@@ -0,0 +1,14 @@
+package com.view.picker;
+
+/**
+ * Receives per-frame statistics of a {@link HorizontalWheelPicker}.
+ * Nothing is measured while no listener is attached.
+ */
+public interface WheelMetricsListener {
+    /**
+     * Called on the UI thread at the end of every onDraw.
+     *
+     * @param metrics reused instance holding the last frame and the aggregate counters
+     */
+    void onFrameDrawn(HorizontalWheelPicker picker, WheelMetrics metrics);
+}
@@ -0,0 +1,28 @@
+package com.view.picker;
+
+/**
+ * Selection and scroll offset of one picker bound through
+ * {@link HorizontalWheelPicker#bind(WheelItemSource, WheelPosition)}, kept with the row it belongs
+ * to. The picker updates it when it settles on an item and when it is unbound.
+ */
+public final class WheelPosition {
+    int index;
+    // scroll offset from the selected item, in slot widths
+    float offset;
+
+    public WheelPosition(int index) {
+        this.index = index;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Select another item, taking effect on the next bind.
+     */
+    public void setIndex(int index) {
+        this.index = index;
+        offset = 0;
+    }
+}
@@ -0,0 +1,139 @@
+package com.view.picker;
+
+/**
+ * Drives a {@link ScrollPhysics} with fixed time steps, so an animation takes the same path whatever
+ * the frame timing. Flings and snaps use separate physics. Replaces OverScroller for the picker with
+ * double positions; it has no Android dependencies and can be tested on the plain JVM.
+ */
+final class WheelScroller {
+    static final long STEP_NANOS = 1000000000L / 240;
+    static final float STEP_SECONDS = STEP_NANOS / 1e9f;
+    // a stalled animation catches up at most this far instead of simulating the whole gap
+    private static final long MAX_CATCH_UP_NANOS = 100000000L;
+
+    // default physics are created on first use, most pickers never animate
+    private ScrollPhysics mFlingPhysics;
+    private ScrollPhysics mSnapPhysics;
+    private ScrollPhysics mActive;
+    private long mTimeNanos;
+
+    ScrollPhysics getFlingPhysics() {
+        if (null == mFlingPhysics) {
+            mFlingPhysics = new DecayPhysics();
+        }
+        return mFlingPhysics;
+    }
+
+    void setFlingPhysics(ScrollPhysics physics) {
+        if (null != mActive && mActive == mFlingPhysics) {
+            stop();
+        }
+        mFlingPhysics = physics;
+    }
+
+    ScrollPhysics getSnapPhysics() {
+        if (null == mSnapPhysics) {
+            mSnapPhysics = new SpringPhysics();
+        }
+        return mSnapPhysics;
+    }
+
+    void setSnapPhysics(ScrollPhysics physics) {
+        if (null != mActive && mActive == mSnapPhysics) {
+            stop();
+        }
+        mSnapPhysics = physics;
+    }
+
+    /**
+     * @return where a fling from the position would stop if nothing picked its target
+     */
+    double predictFling(double position, double velocity) {
+        return position + getFlingPhysics().flingDistance(velocity);
+    }
+
+    void fling(double position, double velocity, double target, long nowNanos) {
+        start(getFlingPhysics(), position, velocity, target, nowNanos);
+    }
+
+    /**
+     * Move to the target, keeping the velocity of a running animation.
+     */
+    void snap(double position, double target, long nowNanos) {
+        start(getSnapPhysics(), position, getVelocity(), target, nowNanos);
+    }
+
+    private void start(ScrollPhysics physics, double position, double velocity, double target, long nowNanos) {
+        if (null != mActive && mActive != physics) {
+            mActive.stop();
+        }
+        mActive = physics;
+        mTimeNanos = nowNanos;
+        physics.start(position, velocity, target);
+    }
+
+    /**
+     * Advance to the given time in whole steps.
+     *
+     * @return whether an animation was running, true once more for the step it finishes in
+     */
+    boolean computeScrollOffset(long nowNanos) {
+        if (null == mActive || mActive.isFinished()) {
+            return false;
+        }
+        if (nowNanos - mTimeNanos > MAX_CATCH_UP_NANOS) {
+            mTimeNanos = nowNanos - MAX_CATCH_UP_NANOS;
+        }
+        while (nowNanos - mTimeNanos >= STEP_NANOS && mActive.step(STEP_SECONDS)) {
+            mTimeNanos += STEP_NANOS;
+        }
+        return true;
+    }
+
+    boolean isFinished() {
+        return null == mActive || mActive.isFinished();
+    }
+
+    boolean isFling() {
+        return !isFinished() && mActive == mFlingPhysics;
+    }
+
+    double getPosition() {
+        return null == mActive ? 0 : mActive.getPosition();
+    }
+
+    double getVelocity() {
+        return isFinished() ? 0 : mActive.getVelocity();
+    }
+
+    double getFinalPosition() {
+        return null == mActive ? 0 : mActive.getTarget();
+    }
+
+    /**
+     * Shift the running animation, e.g. after items were inserted before the center.
+     */
+    void offset(double dx) {
+        if (null != mActive) {
+            mActive.offset(dx);
+        }
+    }
+
+    /**
+     * Stop where the animation currently is.
+     */
+    void stop() {
+        if (!isFinished()) {
+            mActive.stop();
+        }
+    }
+
+    /**
+     * Jump to the end of the animation.
+     */
+    void finish() {
+        if (!isFinished()) {
+            mActive.finish();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.view.picker;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.AttributeSet;
+import android.util.DisplayMetrics;
+import android.util.TypedValue;
+
+import com.view.picker.library.R;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Resolved attributes of a {@link HorizontalWheelPicker} plus the font metrics and default widths
+ * derived from them, shared by all pickers inflated with the same theme, style and density.
+ * <p>
+ * Pickers that set attributes inline in their layout resolve their own style, as those values
+ * may differ between pickers using the same style.
+ */
+final class WheelStyle {
+    static final String DEFAULT_TEXT = "888888";
+
+    private static final Map<Resources.Theme, Map<Key, WheelStyle>> sStyles = new WeakHashMap<>();
+
+    int highlightColor = 0xFF666666;
+    int itemNormalTextColor = 0x80666666;
+    int titleTextColor = 0x80999999;
+    int markColor = 0xFFEEEEEE;
+    int fadeMarkColor;
+    float intervalFactor = HorizontalWheelPicker.DEFAULT_INTERVAL_FACTOR;
+    float markRatio = HorizontalWheelPicker.DEFAULT_MARK_RATIO;
+    String additionCenterMark;
+    float centerTextSize, normalTextSize, titleTextSize;
+    float topIndexHeight;
+    boolean drawMarks;
+    boolean loop;
+    boolean proportional;
+
+    float titleTextHeight, titleTextDescent;
+    float centerTextDescent, normalTextDescent, itemTextHeight;
+    // widths of the placeholder text and of the addition mark at the selected text size
+    int defaultTextWidth, additionMarkWidth;
+
+    /**
+     * @return the style for the given attributes, cached unless they are set inline
+     */
+    static WheelStyle obtain(Context context, AttributeSet attrs) {
+        if (null != attrs && hasInlineAttributes(attrs)) {
+            return resolve(context, attrs);
+        }
+        DisplayMetrics dm = context.getResources().getDisplayMetrics();
+        // without attrs the theme's own wp* values are never read, so that style differs from an XML
+        // picker without a style attribute even though both have no style resource
+        Key key = new Key(null != attrs, null == attrs ? 0 : attrs.getStyleAttribute(), dm.density, dm.scaledDensity);
+        Resources.Theme theme = context.getTheme();
+        synchronized (sStyles) {
+            Map<Key, WheelStyle> styles = sStyles.get(theme);
+            if (null == styles) {
+                styles = new HashMap<>();
+                sStyles.put(theme, styles);
+            }
+            WheelStyle style = styles.get(key);
+            if (null == style) {
+                style = resolve(context, attrs);
+                styles.put(key, style);
+            }
+            return style;
+        }
+    }
+
+    static void clearCache() {
+        synchronized (sStyles) {
+            sStyles.clear();
+        }
+    }
+
+    private static boolean hasInlineAttributes(AttributeSet attrs) {
+        int[] styleable = R.styleable.HorizontalWheelPicker;
+        for (int i = 0; i < attrs.getAttributeCount(); i++) {
+            int name = attrs.getAttributeNameResource(i);
+            for (int attr : styleable) {
+                if (attr == name) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static WheelStyle resolve(Context context, AttributeSet attrs) {
+        WheelStyle style = new WheelStyle();
+        DisplayMetrics dm = context.getResources().getDisplayMetrics();
+        style.centerTextSize = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP,
+                HorizontalWheelPicker.HIGHLIGHT_SP_SIZE, dm);
+        style.normalTextSize = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP,
+                HorizontalWheelPicker.NORMAL_SP_SIZE, dm);
+        style.titleTextSize = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP,
+                HorizontalWheelPicker.TITLE_SP_SIZE, dm);
+
+        TypedArray ta = attrs == null ? null : context.obtainStyledAttributes(attrs, R.styleable.HorizontalWheelPicker);
+        if (ta != null) {
+            style.highlightColor = ta.getColor(R.styleable.HorizontalWheelPicker_wpHighlightColor, style.highlightColor);
+            style.itemNormalTextColor = ta.getColor(R.styleable.HorizontalWheelPicker_wpItemNormalTextColor, style.itemNormalTextColor);
+            style.markColor = ta.getColor(R.styleable.HorizontalWheelPicker_wpMarkColor, style.markColor);
+            style.intervalFactor = ta.getFloat(R.styleable.HorizontalWheelPicker_wpIntervalFactor, style.intervalFactor);
+            style.markRatio = ta.getFloat(R.styleable.HorizontalWheelPicker_wpMarkRatio, style.markRatio);
+            style.additionCenterMark = ta.getString(R.styleable.HorizontalWheelPicker_wpAdditionalCenterMark);
+            style.centerTextSize = ta.getDimension(R.styleable.HorizontalWheelPicker_wpItemSelectedTextSize, style.centerTextSize);
+            style.normalTextSize = ta.getDimension(R.styleable.HorizontalWheelPicker_wpItemNormalTextSize, style.normalTextSize);
+            style.topIndexHeight = ta.getDimension(R.styleable.HorizontalWheelPicker_wpCursorSize, style.topIndexHeight);
+            style.titleTextSize = ta.getDimension(R.styleable.HorizontalWheelPicker_wpTitleTextSize, style.titleTextSize);
+            style.drawMarks = ta.getBoolean(R.styleable.HorizontalWheelPicker_wpDrawHashMarks, style.drawMarks);
+            style.loop = ta.getBoolean(R.styleable.HorizontalWheelPicker_wpLoop, false);
+            style.proportional = ta.getBoolean(R.styleable.HorizontalWheelPicker_wpProportionalSpacing, false);
+            style.titleTextColor = ta.getColor(R.styleable.HorizontalWheelPicker_wpTitleTextColor, style.titleTextColor);
+            ta.recycle();
+        }
+        style.normalTextSize = Math.min(style.normalTextSize, style.centerTextSize);
+        style.fadeMarkColor = style.highlightColor & 0xAAFFFFFF;
+        style.intervalFactor = Math.max(1, style.intervalFactor);
+        style.markRatio = Math.min(1, style.markRatio);
+
+        Paint.FontMetrics fm = new Paint.FontMetrics();
+        TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        paint.setTextSize(style.titleTextSize);
+        paint.getFontMetrics(fm);
+        style.titleTextHeight = fm.descent - fm.ascent;
+        style.titleTextDescent = fm.descent;
+        paint.setTextSize(style.normalTextSize);
+        paint.getFontMetrics(fm);
+        style.normalTextDescent = fm.descent;
+        paint.setTextSize(style.centerTextSize);
+        paint.getFontMetrics(fm);
+        style.centerTextDescent = fm.descent;
+        style.itemTextHeight = fm.bottom - fm.top;
+
+        Rect bounds = new Rect();
+        paint.getTextBounds(DEFAULT_TEXT, 0, DEFAULT_TEXT.length(), bounds);
+        style.defaultTextWidth = bounds.width();
+        if (!TextUtils.isEmpty(style.additionCenterMark)) {
+            paint.getTextBounds(style.additionCenterMark, 0, style.additionCenterMark.length(), bounds);
+            style.additionMarkWidth = bounds.width();
+        }
+        return style;
+    }
+
+    private static final class Key {
+        final boolean fromXml;
+        final int styleRes;
+        final float density;
+        final float scaledDensity;
+
+        Key(boolean fromXml, int styleRes, float density, float scaledDensity) {
+            this.fromXml = fromXml;
+            this.styleRes = styleRes;
+            this.density = density;
+            this.scaledDensity = scaledDensity;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return fromXml == other.fromXml && styleRes == other.styleRes && density == other.density && scaledDensity == other.scaledDensity;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = 31 * (fromXml ? 1 : 0) + styleRes;
+            return 31 * (31 * result + Float.floatToIntBits(density)) + Float.floatToIntBits(scaledDensity);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.view.picker;
+
+import android.os.SystemClock;
+import android.view.View;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives the picker headlessly through a drag, a fling and the settle animation, and fails when a
+ * frame issues more draw calls or paint state changes than the budgets in draw_budgets.properties.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class DrawBudgetTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 240;
+    private static final long FRAME_MS = 16;
+    // text is not measured under the legacy graphics shadows, so the interval is pinned instead
+    private static final float INTERVAL = 60f;
+
+    private static Properties sBudgets;
+
+    @BeforeClass
+    public static void loadBudgets() throws IOException {
+        InputStream in = DrawBudgetTest.class.getResourceAsStream("draw_budgets.properties");
+        assertNotNull("draw_budgets.properties is missing", in);
+        try {
+            sBudgets = new Properties();
+            sBudgets.load(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void items50() {
+        runScenario("items50", 50, false, false);
+    }
+
+    @Test
+    public void items50_marks() {
+        runScenario("items50_marks", 50, true, false);
+    }
+
+    @Test
+    public void items50_titles() {
+        runScenario("items50_titles", 50, false, true);
+    }
+
+    @Test
+    public void items100k() {
+        runScenario("items100k", 100000, false, false);
+    }
+
+    @Test
+    public void items100k_marks() {
+        runScenario("items100k_marks", 100000, true, false);
+    }
+
+    @Test
+    public void items100k_marks_titles() {
+        runScenario("items100k_marks_titles", 100000, true, true);
+    }
+
+    private void runScenario(String scenario, int itemCount, boolean marks, boolean titles) {
+        HorizontalWheelPicker picker = createPicker(itemCount, marks, titles);
+        int window = 3 * picker.getWheelLayout().getViewScopeSize() + 1;
+        assertTrue(scenario + ": empty window", window > 1);
+        int maxOps = budget(scenario, "fixed") + budget(scenario, "perItem") * window;
+        int maxStateChanges = budget(scenario, "stateChanges");
+
+        RecordingCanvas canvas = new RecordingCanvas();
+        FrameStats stats = new FrameStats();
+
+        // start from the middle of the list, then from the first item to cover the extended window
+        jumpTo(picker, itemCount / 2);
+        drawFrames(picker, canvas, stats);
+        jumpTo(picker, 0);
+        drawFrames(picker, canvas, stats);
+
+        String summary = String.format(Locale.US,
+                "%s: %d frames, draw ops max %d (budget %d) mean %.1f, text ops max %d, state changes max %d (budget %d)",
+                scenario, stats.frames, stats.maxOps, maxOps, (float) stats.totalOps / stats.frames,
+                stats.maxTextOps, stats.maxStateChanges, maxStateChanges);
+        assertTrue(summary + ": draw ops over budget", stats.maxOps <= maxOps);
+        assertTrue(summary + ": paint state changes over budget", stats.maxStateChanges <= maxStateChanges);
+    }
+
+    private HorizontalWheelPicker createPicker(int itemCount, boolean marks, boolean titles) {
+        HorizontalWheelPicker picker = new HorizontalWheelPicker(ApplicationProvider.getApplicationContext());
+        List<String> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(String.valueOf(i));
+        }
+        picker.setItems(items);
+        if (titles) {
+            HashMap<Integer, String> titleMap = new HashMap<>();
+            for (int i = 0; i < itemCount; i++) {
+                titleMap.put(i, "t" + i);
+            }
+            picker.setTitles(titleMap);
+        }
+        picker.setDrawMarks(marks);
+        picker.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        picker.layout(0, 0, WIDTH, HEIGHT);
+        picker.getWheelLayout().setIntervalDis(INTERVAL);
+        return picker;
+    }
+
+    /**
+     * Move the scroll position onto an item with a single drag step, the picker is not attached so
+     * posted selections would never run.
+     */
+    private void jumpTo(HorizontalWheelPicker picker, int index) {
+        picker.onDown(null);
+        picker.onScroll(null, null, (float) (picker.getWheelLayout().scrollXOf(index) - picker.getScrollPosition()), 0);
+    }
+
+    private void drawFrames(HorizontalWheelPicker picker, RecordingCanvas canvas, FrameStats stats) {
+        drawFrame(picker, canvas, stats);
+        picker.onDown(null);
+        for (int i = 0; i < 30; i++) {
+            picker.onScroll(null, null, i % 2 == 0 ? 12f : -9f, 0);
+            drawFrame(picker, canvas, stats);
+        }
+        picker.onFling(null, null, -6000f, 0);
+        for (int i = 0; i < 300; i++) {
+            SystemClock.setCurrentTimeMillis(SystemClock.uptimeMillis() + FRAME_MS);
+            picker.computeScroll();
+            drawFrame(picker, canvas, stats);
+        }
+    }
+
+    private void drawFrame(HorizontalWheelPicker picker, RecordingCanvas canvas, FrameStats stats) {
+        canvas.beginFrame();
+        picker.onDraw(canvas);
+        stats.frames++;
+        stats.totalOps += canvas.getDrawOps();
+        stats.maxOps = Math.max(stats.maxOps, canvas.getDrawOps());
+        stats.maxTextOps = Math.max(stats.maxTextOps, canvas.getTextOps());
+        stats.maxStateChanges = Math.max(stats.maxStateChanges, canvas.getStateChanges());
+    }
+
+    private static int budget(String scenario, String key) {
+        String value = sBudgets.getProperty(scenario + "." + key);
+        assertNotNull("no budget " + scenario + "." + key, value);
+        return Integer.parseInt(value.trim());
+    }
+
+    private static class FrameStats {
+        int frames;
+        long totalOps;
+        int maxOps;
+        int maxTextOps;
+        int maxStateChanges;
+    }
+}
@@ -0,0 +1,202 @@
+package com.view.picker;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.View;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Drives a drag and a fling through the picker and fails if the draw or scroll paths allocate.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class HorizontalWheelPickerAllocationTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 240;
+    private static final long FRAME_MS = 16;
+
+    private final com.sun.management.ThreadMXBean mThreadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final long mThreadId = Thread.currentThread().getId();
+    private final Canvas mCanvas = new NoOpCanvas();
+
+    private HorizontalWheelPicker mPicker;
+    private long mAllocated;
+    // label shaping handed to the precompute executor, run off the measured thread between frames
+    private Runnable mPrecomputeTask;
+    private int mPrecomputeRuns;
+
+    @Before
+    public void setUp() {
+        mPicker = new HorizontalWheelPicker(ApplicationProvider.getApplicationContext());
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            items.add(String.valueOf(i * 1000));
+        }
+        mPicker.setItems(items);
+        HashMap<Integer, String> titles = new HashMap<>();
+        for (int i = 0; i < 1000; i += 10) {
+            titles.put(i, "t" + i);
+        }
+        mPicker.setTitles(titles);
+        mPicker.setDrawMarks(true);
+        mPicker.setOnWheelItemSelectedListener(new HorizontalWheelPicker.OnWheelItemSelectedListener() {
+            @Override
+            public void onWheelItemChanged(HorizontalWheelPicker wheelView, int position) {
+            }
+
+            @Override
+            public void onWheelItemSelected(HorizontalWheelPicker wheelView, int position) {
+            }
+        });
+        mPicker.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mPicker.layout(0, 0, WIDTH, HEIGHT);
+        mPicker.selectIndex(500);
+        shadowOf(Looper.getMainLooper()).idle();
+        allocatedBytes();
+    }
+
+    @Test
+    public void dragAndFling_doNotAllocate() {
+        // warm up class loading, JIT and lazily created framework state
+        for (int i = 0; i < 20; i++) {
+            simulateInteraction(false);
+        }
+        mAllocated = 0;
+        simulateInteraction(true);
+        assertEquals("bytes allocated during drag and fling frames", 0, mAllocated);
+    }
+
+    @Test
+    public void dragAndFling_withTextPrecompute_doNotAllocate() {
+        mPicker.setTextPrecomputeExecutor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                mPrecomputeTask = command;
+            }
+        });
+        for (int i = 0; i < 20; i++) {
+            simulateInteraction(false);
+        }
+        mAllocated = 0;
+        mPrecomputeRuns = 0;
+        simulateInteraction(true);
+        assertEquals("bytes allocated during drag and fling frames", 0, mAllocated);
+        assertTrue("labels requested while scrolling", mPrecomputeRuns > 0);
+    }
+
+    private void simulateInteraction(boolean measure) {
+        mPicker.onDown(null);
+        for (int i = 0; i < 30; i++) {
+            long start = allocatedBytes();
+            mPicker.onScroll(null, null, i % 2 == 0 ? 12f : -9f, 0);
+            mPicker.onDraw(mCanvas);
+            record(start, measure);
+        }
+        long start = allocatedBytes();
+        mPicker.onFling(null, null, (mPicker.getSelectedPosition() % 2 == 0 ? 1 : -1) * 6000f, 0);
+        record(start, measure);
+        for (int i = 0; i < 300; i++) {
+            SystemClock.setCurrentTimeMillis(SystemClock.uptimeMillis() + FRAME_MS);
+            start = allocatedBytes();
+            mPicker.computeScroll();
+            mPicker.onDraw(mCanvas);
+            record(start, measure);
+        }
+    }
+
+    private void record(long start, boolean measure) {
+        long end = allocatedBytes();
+        if (measure) {
+            mAllocated += end - start;
+        }
+        if (null != mPrecomputeTask) {
+            runPrecomputeTask();
+        }
+    }
+
+    private void runPrecomputeTask() {
+        Thread worker = new Thread(mPrecomputeTask);
+        mPrecomputeTask = null;
+        worker.start();
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+        shadowOf(Looper.getMainLooper()).idle();
+        mPrecomputeRuns++;
+    }
+
+    private long allocatedBytes() {
+        return mThreadBean.getThreadAllocatedBytes(mThreadId);
+    }
+
+    /**
+     * Canvas that discards all draw calls, keeping the shadow implementation out of the measurement.
+     */
+    private static class NoOpCanvas extends Canvas {
+        @Override
+        public int save() {
+            return 1;
+        }
+
+        @Override
+        public void translate(float dx, float dy) {
+        }
+
+        @Override
+        public void restoreToCount(int saveCount) {
+        }
+
+        @Override
+        public void drawPath(Path path, Paint paint) {
+        }
+
+        @Override
+        public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        }
+
+        @Override
+        public void drawLines(float[] pts, int offset, int count, Paint paint) {
+        }
+
+        @Override
+        public void drawText(CharSequence text, int start, int end, float x, float y, Paint paint) {
+        }
+
+        @Override
+        public void drawText(String text, float x, float y, Paint paint) {
+        }
+
+        @Override
+        public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        }
+
+        @Override
+        public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        }
+    }
+}
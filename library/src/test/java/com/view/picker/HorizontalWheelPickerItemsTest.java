@@ -0,0 +1,221 @@
+package com.view.picker;
+
+import android.view.View;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Index bookkeeping of {@link HorizontalWheelPicker#submitItems(List)} and the range notifications:
+ * the selection, the selectable range, titles and the skipped count follow the items they refer to.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class HorizontalWheelPickerItemsTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 240;
+    private static final int COUNT = 100;
+    // text isn't measured under the legacy graphics shadows, labels take their widths from a prefilled cache
+    private static final int CHAR_WIDTH = 25;
+
+    private HorizontalWheelPicker mPicker;
+    private WheelGroup mGroup;
+    private final List<Integer> mChanges = new ArrayList<>();
+    private final List<Integer> mSkipped = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        mPicker = new HorizontalWheelPicker(ApplicationProvider.getApplicationContext());
+        mGroup = new WheelGroup();
+        mGroup.add(mPicker);
+        mPicker.setOnWheelItemChangedListener(new HorizontalWheelPicker.OnWheelItemChangedListener() {
+            @Override
+            public void onWheelItemChanged(HorizontalWheelPicker wheelView, int position, int skipped) {
+                mChanges.add(position);
+                mSkipped.add(skipped);
+            }
+        });
+        submit(items(0, COUNT));
+        mPicker.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mPicker.layout(0, 0, WIDTH, HEIGHT);
+        scrollTo(40);
+    }
+
+    @Test
+    public void insertBeforeCenter_movesSelectionAndBounds() {
+        mPicker.setMinSelectableIndex(10);
+        mPicker.setMaxSelectableIndex(90);
+        List<String> items = items(0, COUNT);
+        items.addAll(5, items(1000, 3));
+        submit(items);
+
+        assertEquals(items, mPicker.getItems());
+        assertEquals(43, mPicker.getSelectedPosition());
+        assertEquals(13, mPicker.getMinSelectableIndex());
+        assertEquals(93, mPicker.getMaxSelectableIndex());
+        assertCentered();
+    }
+
+    @Test
+    public void insertAfterCenter_keepsSelection() {
+        List<String> items = items(0, COUNT);
+        items.addAll(60, items(1000, 3));
+        submit(items);
+
+        assertEquals(items, mPicker.getItems());
+        assertEquals(40, mPicker.getSelectedPosition());
+        assertEquals(COUNT + 2, mPicker.getMaxSelectableIndex());
+        assertCentered();
+    }
+
+    @Test
+    public void append_keepsMaxBoundAtLastItem() {
+        List<String> items = items(0, COUNT);
+        items.addAll(items(1000, 5));
+        submit(items);
+
+        assertEquals(COUNT + 4, mPicker.getMaxSelectableIndex());
+    }
+
+    @Test
+    public void removeBeforeCenter_movesSelection() {
+        List<String> items = items(0, COUNT);
+        items.subList(10, 20).clear();
+        submit(items);
+
+        assertEquals(items, mPicker.getItems());
+        assertEquals(30, mPicker.getSelectedPosition());
+        assertEquals(COUNT - 11, mPicker.getMaxSelectableIndex());
+        assertCentered();
+    }
+
+    @Test
+    public void removeCenter_selectsFirstItemAfterRange() {
+        List<String> items = items(0, COUNT);
+        items.subList(38, 45).clear();
+        submit(items);
+
+        assertEquals(items, mPicker.getItems());
+        assertEquals(38, mPicker.getSelectedPosition());
+        assertEquals(String.valueOf(45), mPicker.getItems().get(38));
+    }
+
+    @Test
+    public void removeTail_clampsSelectionAndBounds() {
+        mPicker.setMinSelectableIndex(80);
+        submit(items(0, 50));
+
+        assertEquals(49, mPicker.getSelectedPosition());
+        assertEquals(49, mPicker.getMinSelectableIndex());
+        assertEquals(49, mPicker.getMaxSelectableIndex());
+    }
+
+    @Test
+    public void changeInMiddle_keepsIndices() {
+        List<String> items = items(0, COUNT);
+        items.set(40, "4000");
+        items.set(41, "4100");
+        submit(items);
+
+        assertEquals(items, mPicker.getItems());
+        assertEquals(40, mPicker.getSelectedPosition());
+        assertEquals(COUNT - 1, mPicker.getMaxSelectableIndex());
+        assertCentered();
+    }
+
+    @Test
+    public void titles_followTheirItems() {
+        mPicker.setTitle(10, "ten");
+        mPicker.setTitle(50, "fifty");
+        mPicker.setTitle(70, "seventy");
+        List<String> items = items(0, COUNT);
+        items.subList(45, 55).clear();
+        submit(items);
+        items.addAll(0, items(1000, 2));
+        submit(items);
+
+        assertEquals("ten", mPicker.getTitle(12));
+        assertNull(mPicker.getTitle(10));
+        assertNull(mPicker.getTitle(47));
+        assertEquals("seventy", mPicker.getTitle(62));
+    }
+
+    @Test
+    public void emptyThenItems_selectsWholeRange() {
+        submit(Collections.<String>emptyList());
+        assertEquals(0, mPicker.getWheelLayout().getItemCount());
+
+        submit(items(0, 30));
+        assertEquals(0, mPicker.getSelectedPosition());
+        assertEquals(0, mPicker.getMinSelectableIndex());
+        assertEquals(29, mPicker.getMaxSelectableIndex());
+    }
+
+    @Test
+    public void insertedItems_skippedCountsFromShiftedDelivery() {
+        assertEquals(40, (int) mChanges.get(mChanges.size() - 1));
+
+        List<String> items = items(0, COUNT);
+        items.addAll(0, items(1000, 5));
+        submit(items);
+        mSkipped.clear();
+        // one item further from the delivered one, which moved to 45
+        scrollTo(46);
+
+        assertEquals(46, (int) mChanges.get(mChanges.size() - 1));
+        assertEquals(0, (int) mSkipped.get(mSkipped.size() - 1));
+    }
+
+    @Test
+    public void removedItems_skippedCountsFromShiftedDelivery() {
+        List<String> items = items(0, COUNT);
+        items.subList(0, 10).clear();
+        submit(items);
+        mSkipped.clear();
+        scrollTo(33);
+
+        assertEquals(33, (int) mChanges.get(mChanges.size() - 1));
+        assertEquals(2, (int) mSkipped.get(mSkipped.size() - 1));
+    }
+
+    private void submit(List<String> items) {
+        float textSize = ((HorizontalWheelPicker.SavedState) mPicker.onSaveInstanceState()).textSize;
+        for (String item : items) {
+            mGroup.getWidthCache().put(textSize, item, item.length() * CHAR_WIDTH);
+        }
+        mPicker.submitItems(items);
+    }
+
+    private void scrollTo(int index) {
+        double target = mPicker.getWheelLayout().scrollXOf(index);
+        mPicker.onDown(null);
+        mPicker.onScroll(null, null, (float) (target - mPicker.getScrollPosition()), 0);
+        assertEquals(index, mPicker.getSelectedPosition());
+    }
+
+    private void assertCentered() {
+        WheelLayout layout = mPicker.getWheelLayout();
+        assertEquals(mPicker.getSelectedPosition(), layout.centerIndexAt(mPicker.getScrollPosition()));
+    }
+
+    private static List<String> items(int first, int count) {
+        List<String> items = new ArrayList<>();
+        for (int i = first; i < first + count; i++) {
+            items.add(String.valueOf(i));
+        }
+        return items;
+    }
+}
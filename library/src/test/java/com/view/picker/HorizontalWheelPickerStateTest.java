@@ -0,0 +1,184 @@
+package com.view.picker;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.view.View;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Saves a picker scrolled between two items and checks that a new picker restores the exact
+ * position before any posted work runs, whether the items are set before or after the restore,
+ * and reuses the saved measurement instead of reading every item again.
+ * Pickers bound to a shared item source keep their position through unbind and rebind.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class HorizontalWheelPickerStateTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 240;
+    private static final int INDEX = 40;
+    private static final double DELTA = 1e-3;
+    // text isn't measured under the legacy graphics shadows, so the saved picker takes its label widths
+    // from a prefilled width cache, which pins the interval
+    private static final int DIGIT_WIDTH = 25;
+
+    @Test
+    public void restoreBeforeItems_drawsSavedPosition() {
+        HorizontalWheelPicker saved = scrolledPicker();
+        Parcelable state = parcel(saved.onSaveInstanceState());
+
+        HorizontalWheelPicker restored = newPicker();
+        restored.onRestoreInstanceState(state);
+        CountingAdapter adapter = new CountingAdapter(items());
+        restored.setAdapter(adapter);
+        layout(restored);
+
+        assertRestored(saved, restored);
+        assertEquals(0, adapter.mReads);
+    }
+
+    @Test
+    public void restoreAfterItems_drawsSavedPosition() {
+        HorizontalWheelPicker saved = scrolledPicker();
+        Parcelable state = parcel(saved.onSaveInstanceState());
+
+        // the order of an activity: items set in onCreate, the state restored before the first layout
+        HorizontalWheelPicker restored = newPicker();
+        CountingAdapter adapter = new CountingAdapter(items());
+        restored.setAdapter(adapter);
+        restored.onRestoreInstanceState(state);
+        layout(restored);
+
+        assertRestored(saved, restored);
+        assertEquals(0, adapter.mReads);
+    }
+
+    @Test
+    public void otherDataVersion_measuresItems() {
+        HorizontalWheelPicker saved = scrolledPicker();
+        Parcelable state = parcel(saved.onSaveInstanceState());
+
+        HorizontalWheelPicker restored = new HorizontalWheelPicker(ApplicationProvider.getApplicationContext());
+        restored.setDataVersion("numbers:2");
+        CountingAdapter adapter = new CountingAdapter(items());
+        restored.setAdapter(adapter);
+        restored.onRestoreInstanceState(state);
+        layout(restored);
+
+        assertEquals(INDEX, restored.getSelectedPosition());
+        assertEquals(items().size(), adapter.mReads);
+    }
+
+    @Test
+    public void rebind_drawsPositionSavedOnUnbind() {
+        WheelItemSource source = new WheelItemSource(items());
+        WheelPosition position = new WheelPosition(0);
+        HorizontalWheelPicker row = newPicker();
+        layout(row);
+        row.bind(source, position);
+        WheelLayout layout = row.getWheelLayout();
+        double target = layout.scrollXOf(INDEX) + layout.slotWidth(INDEX) / 3;
+        row.onDown(null);
+        row.onScroll(null, null, (float) (target - row.getScrollPosition()), 0);
+        row.unbind();
+
+        assertEquals(INDEX, position.getIndex());
+        // a recycled picker shows the row where it was left
+        HorizontalWheelPicker recycled = newPicker();
+        layout(recycled);
+        recycled.bind(new WheelItemSource(items()), new WheelPosition(3));
+        recycled.bind(source, position);
+
+        assertSame(source.getAdapter(), recycled.getAdapter());
+        assertEquals(INDEX, recycled.getSelectedPosition());
+        assertEquals(target, recycled.getScrollPosition(), DELTA);
+    }
+
+    private HorizontalWheelPicker scrolledPicker() {
+        HorizontalWheelPicker picker = newPicker();
+        pinWidths(picker);
+        picker.setItems(items());
+        layout(picker);
+        WheelLayout layout = picker.getWheelLayout();
+        // a third of a slot past the item
+        double target = layout.scrollXOf(INDEX) + layout.slotWidth(INDEX) / 3;
+        picker.onDown(null);
+        picker.onScroll(null, null, (float) (target - picker.getScrollPosition()), 0);
+        assertEquals(INDEX, picker.getSelectedPosition());
+        return picker;
+    }
+
+    private static void assertRestored(HorizontalWheelPicker saved, HorizontalWheelPicker restored) {
+        assertEquals(INDEX, restored.getSelectedPosition());
+        assertEquals(saved.getWheelLayout().getIntervalDis(), restored.getWheelLayout().getIntervalDis(), 0);
+        assertTrue(restored.getWheelLayout().getIntervalDis() > DIGIT_WIDTH);
+        assertEquals(saved.getScrollPosition(), restored.getScrollPosition(), DELTA);
+    }
+
+    private static void pinWidths(HorizontalWheelPicker picker) {
+        WheelGroup group = new WheelGroup();
+        group.add(picker);
+        float textSize = ((HorizontalWheelPicker.SavedState) picker.onSaveInstanceState()).textSize;
+        for (String item : items()) {
+            group.getWidthCache().put(textSize, item, item.length() * DIGIT_WIDTH);
+        }
+    }
+
+    private static HorizontalWheelPicker newPicker() {
+        HorizontalWheelPicker picker = new HorizontalWheelPicker(ApplicationProvider.getApplicationContext());
+        picker.setDataVersion("numbers:1");
+        return picker;
+    }
+
+    private static void layout(HorizontalWheelPicker picker) {
+        picker.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        picker.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    private static List<String> items() {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(String.valueOf(i));
+        }
+        return items;
+    }
+
+    private static final class CountingAdapter extends ListWheelAdapter {
+        int mReads;
+
+        CountingAdapter(List<String> items) {
+            super(items);
+        }
+
+        @Override
+        public CharSequence getItem(int position) {
+            mReads++;
+            return super.getItem(position);
+        }
+    }
+
+    private static Parcelable parcel(Parcelable state) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            state.writeToParcel(parcel, 0);
+            parcel.setDataPosition(0);
+            return HorizontalWheelPicker.SavedState.CREATOR.createFromParcel(parcel);
+        } finally {
+            parcel.recycle();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.view.picker;
+
+import android.os.Looper;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Delivery policies of {@link ItemChangeDispatcher}, with the main looper clock advanced by hand.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ItemChangeDispatcherTest {
+
+    @Test
+    public void immediate_deliversEveryChangeWithSkippedIndices() {
+        RecordingTarget target = new RecordingTarget(0);
+        ItemChangeDispatcher dispatcher = new ItemChangeDispatcher(target);
+
+        dispatcher.onIndexChanged(3);
+        dispatcher.onIndexChanged(4);
+        dispatcher.onIndexChanged(8);
+        dispatcher.onIndexChanged(5);
+
+        assertEquals(Arrays.asList(3, 4, 8, 5), target.mIndices);
+        assertEquals(Arrays.asList(0, 0, 3, 2), target.mSkipped);
+    }
+
+    @Test
+    public void perFrame_deliversLatestIndexOncePerFrame() {
+        RecordingTarget target = new RecordingTarget(0);
+        ItemChangeDispatcher dispatcher = new ItemChangeDispatcher(target);
+        dispatcher.setPolicy(ItemChangeDispatcher.POLICY_PER_FRAME, 0);
+
+        dispatcher.onIndexChanged(1);
+        dispatcher.onIndexChanged(2);
+        dispatcher.onIndexChanged(3);
+        assertTrue(target.mIndices.isEmpty());
+
+        idleFor(100);
+        dispatcher.onIndexChanged(4);
+        dispatcher.onIndexChanged(7);
+        idleFor(100);
+
+        assertEquals(Arrays.asList(3, 7), target.mIndices);
+        assertEquals(Arrays.asList(0, 3), target.mSkipped);
+    }
+
+    @Test
+    public void debounce_waitsForQuietWindow() {
+        RecordingTarget target = new RecordingTarget(0);
+        ItemChangeDispatcher dispatcher = new ItemChangeDispatcher(target);
+        dispatcher.setPolicy(ItemChangeDispatcher.POLICY_DEBOUNCE, 100);
+
+        dispatcher.onIndexChanged(1);
+        idleFor(50);
+        dispatcher.onIndexChanged(2);
+        idleFor(50);
+        dispatcher.onIndexChanged(6);
+        idleFor(99);
+        assertTrue(target.mIndices.isEmpty());
+
+        idleFor(1);
+        assertEquals(Arrays.asList(6), target.mIndices);
+        assertEquals(Arrays.asList(0), target.mSkipped);
+    }
+
+    @Test
+    public void maxRate_deliversFirstChangeAndLatestAtWindowEnd() {
+        RecordingTarget target = new RecordingTarget(0);
+        ItemChangeDispatcher dispatcher = new ItemChangeDispatcher(target);
+        dispatcher.setPolicy(ItemChangeDispatcher.POLICY_MAX_RATE, 50);
+
+        dispatcher.onIndexChanged(1);
+        dispatcher.onIndexChanged(2);
+        dispatcher.onIndexChanged(4);
+        assertEquals(Arrays.asList(1), target.mIndices);
+
+        idleFor(49);
+        assertEquals(Arrays.asList(1), target.mIndices);
+        idleFor(1);
+        assertEquals(Arrays.asList(1, 4), target.mIndices);
+        assertEquals(Arrays.asList(0, 2), target.mSkipped);
+
+        // the window has passed since the last delivery, so the next change goes out at once
+        idleFor(50);
+        dispatcher.onIndexChanged(5);
+        assertEquals(Arrays.asList(1, 4, 5), target.mIndices);
+    }
+
+    @Test
+    public void setPolicy_flushesPendingChange() {
+        RecordingTarget target = new RecordingTarget(0);
+        ItemChangeDispatcher dispatcher = new ItemChangeDispatcher(target);
+        dispatcher.setPolicy(ItemChangeDispatcher.POLICY_DEBOUNCE, 100);
+
+        dispatcher.onIndexChanged(2);
+        dispatcher.setPolicy(ItemChangeDispatcher.POLICY_IMMEDIATE, 0);
+        assertEquals(Arrays.asList(2), target.mIndices);
+
+        idleFor(200);
+        assertEquals(Arrays.asList(2), target.mIndices);
+    }
+
+    @Test
+    public void discard_dropsPendingChangeAndSkippedBase() {
+        RecordingTarget target = new RecordingTarget(0);
+        ItemChangeDispatcher dispatcher = new ItemChangeDispatcher(target);
+        dispatcher.onIndexChanged(2);
+        dispatcher.setPolicy(ItemChangeDispatcher.POLICY_DEBOUNCE, 100);
+
+        dispatcher.onIndexChanged(9);
+        dispatcher.discard();
+        idleFor(200);
+        assertEquals(Arrays.asList(2), target.mIndices);
+        assertEquals(ItemChangeDispatcher.NONE, dispatcher.getDeliveredIndex());
+
+        dispatcher.onIndexChanged(40);
+        idleFor(100);
+        assertEquals(Arrays.asList(2, 40), target.mIndices);
+        assertEquals(Arrays.asList(0, 0), target.mSkipped);
+    }
+
+    @Test
+    public void skipped_takesShorterWayAroundLoop() {
+        RecordingTarget target = new RecordingTarget(10);
+        ItemChangeDispatcher dispatcher = new ItemChangeDispatcher(target);
+
+        dispatcher.onIndexChanged(8);
+        dispatcher.onIndexChanged(1);
+        dispatcher.onIndexChanged(6);
+
+        assertEquals(Arrays.asList(0, 2, 4), target.mSkipped);
+    }
+
+    @Test
+    public void insertedItems_moveDeliveredIndex() {
+        RecordingTarget target = new RecordingTarget(0);
+        ItemChangeDispatcher dispatcher = new ItemChangeDispatcher(target);
+        dispatcher.onIndexChanged(5);
+        // two items inserted before the delivered one
+        dispatcher.onItemRangeInserted(0, 2);
+        dispatcher.onIndexChanged(8);
+
+        assertEquals(Arrays.asList(0, 0), target.mSkipped);
+    }
+
+    @Test
+    public void insertedItems_movePendingIndex() {
+        RecordingTarget target = new RecordingTarget(0);
+        ItemChangeDispatcher dispatcher = new ItemChangeDispatcher(target);
+        dispatcher.setPolicy(ItemChangeDispatcher.POLICY_DEBOUNCE, 100);
+        dispatcher.onIndexChanged(5);
+        idleFor(100);
+
+        dispatcher.onIndexChanged(8);
+        dispatcher.onItemRangeInserted(0, 3);
+        // after both indices, neither moves
+        dispatcher.onItemRangeInserted(50, 4);
+        idleFor(100);
+
+        assertEquals(Arrays.asList(5, 11), target.mIndices);
+        assertEquals(Arrays.asList(0, 2), target.mSkipped);
+    }
+
+    @Test
+    public void removedItems_movePendingIndex() {
+        RecordingTarget target = new RecordingTarget(0);
+        ItemChangeDispatcher dispatcher = new ItemChangeDispatcher(target);
+        dispatcher.setPolicy(ItemChangeDispatcher.POLICY_PER_FRAME, 0);
+        dispatcher.onIndexChanged(6);
+        idleFor(100);
+
+        dispatcher.onIndexChanged(20);
+        dispatcher.onItemRangeRemoved(0, 5);
+        idleFor(100);
+        assertEquals(Arrays.asList(6, 15), target.mIndices);
+        assertEquals(Arrays.asList(0, 13), target.mSkipped);
+
+        // the pending item itself is removed, it moves to the first item after the range
+        dispatcher.onIndexChanged(30);
+        dispatcher.onItemRangeRemoved(28, 5);
+        idleFor(100);
+        assertEquals(Arrays.asList(6, 15, 28), target.mIndices);
+        assertEquals(Arrays.asList(0, 13, 12), target.mSkipped);
+    }
+
+    @Test
+    public void maxRate_removedItemsBeforeBoth_keepSkippedCount() {
+        RecordingTarget target = new RecordingTarget(0);
+        ItemChangeDispatcher dispatcher = new ItemChangeDispatcher(target);
+        dispatcher.setPolicy(ItemChangeDispatcher.POLICY_MAX_RATE, 50);
+        dispatcher.onIndexChanged(40);
+        dispatcher.onIndexChanged(44);
+        dispatcher.onItemRangeRemoved(10, 10);
+        idleFor(50);
+
+        assertEquals(Arrays.asList(40, 34), target.mIndices);
+        assertEquals(Arrays.asList(0, 3), target.mSkipped);
+    }
+
+    private static void idleFor(long millis) {
+        shadowOf(Looper.getMainLooper()).idleFor(millis, TimeUnit.MILLISECONDS);
+    }
+
+    private static final class RecordingTarget implements ItemChangeDispatcher.Target {
+        // item count of a looping wheel, 0 for a linear one
+        private final int mLoopCount;
+        final List<Integer> mIndices = new ArrayList<>();
+        final List<Integer> mSkipped = new ArrayList<>();
+
+        RecordingTarget(int loopCount) {
+            mLoopCount = loopCount;
+        }
+
+        @Override
+        public void dispatchItemChanged(int index, int skipped) {
+            mIndices.add(index);
+            mSkipped.add(skipped);
+        }
+
+        @Override
+        public int distance(int from, int to) {
+            int distance = Math.abs(to - from);
+            return mLoopCount > 0 ? Math.min(distance, mLoopCount - distance) : distance;
+        }
+    }
+}
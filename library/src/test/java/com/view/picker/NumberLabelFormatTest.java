@@ -0,0 +1,93 @@
+package com.view.picker;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Fixed point label formatting and the numeric adapter built on it, on the plain JVM.
+ */
+public class NumberLabelFormatTest {
+
+    @Test
+    public void format_writesDecimalsAndGrouping() {
+        NumberLabelFormat format = new NumberLabelFormat(2, true, null, null, Locale.US);
+        assertEquals("1,234,567.05", format(format, 123456705L));
+        assertEquals("0.50", format(format, 50L));
+        assertEquals("-12.30", format(format, -1230L));
+        assertEquals("999.99", format(format, 99999L));
+        assertEquals("1,000.00", format(format, 100000L));
+    }
+
+    @Test
+    public void format_withoutDecimals_writesPrefixAndSuffix() {
+        NumberLabelFormat format = new NumberLabelFormat(0, false, "$", " kg", Locale.US);
+        assertEquals("$0 kg", format(format, 0L));
+        assertEquals("$12345 kg", format(format, 12345L));
+        assertEquals("$-7 kg", format(format, -7L));
+    }
+
+    @Test
+    public void format_usesLocaleSeparators() {
+        NumberLabelFormat format = new NumberLabelFormat(1, true, null, null, Locale.GERMANY);
+        assertEquals("12.345,6", format(format, 123456L));
+    }
+
+    @Test
+    public void maxLength_boundsEveryLabel() {
+        NumberLabelFormat format = new NumberLabelFormat(2, true, "<", ">", Locale.US);
+        long[] values = {0, 9, 99999, 100000, 123456789, -123456789};
+        for (long value : values) {
+            long max = Math.abs(value);
+            assertTrue("length of " + value, format(format, value).length() <= format.maxLength(max));
+        }
+    }
+
+    @Test
+    public void adapter_stepsWithoutAccumulatingError() {
+        NumericWheelAdapter adapter = new NumericWheelAdapter(0, 1, 0.1,
+                new NumberLabelFormat(1, false, null, null, Locale.US));
+        assertEquals(11, adapter.getItemCount());
+        assertEquals("0.0", adapter.getItem(0).toString());
+        assertEquals("0.3", adapter.getItem(3).toString());
+        assertEquals("1.0", adapter.getItem(10).toString());
+        assertEquals(0.7, adapter.getValue(7), 1e-9);
+        assertEquals(7, adapter.indexOf(0.68));
+        assertEquals(10, adapter.indexOf(5));
+        assertEquals(0, adapter.indexOf(-5));
+    }
+
+    @Test
+    public void adapter_widthHintIsTheLongerExtreme() {
+        NumberLabelFormat format = new NumberLabelFormat(0, true, null, null, Locale.US);
+        assertEquals("-1,000", new NumericWheelAdapter(-1000, 10, 1, format).getWidthHint().toString());
+        assertEquals("10,000", new NumericWheelAdapter(-5, 10000, 5, format).getWidthHint().toString());
+    }
+
+    @Test
+    public void adapter_getItemChars_matchesGetItem() {
+        NumericWheelAdapter adapter = new NumericWheelAdapter(-2.5, 2.5, 0.25,
+                new NumberLabelFormat(2, false, null, "%", Locale.US));
+        char[] buffer = new char[adapter.getMaxLength()];
+        for (int i = 0; i < adapter.getItemCount(); i++) {
+            int length = adapter.getItemChars(i, buffer);
+            assertEquals(adapter.getItem(i).toString(), new String(buffer, 0, length));
+        }
+    }
+
+    @Test
+    public void adapter_maxBelowMin_isEmpty() {
+        NumericWheelAdapter adapter = new NumericWheelAdapter(5, 1, 1,
+                new NumberLabelFormat(0, false, null, null, Locale.US));
+        assertEquals(0, adapter.getItemCount());
+        assertEquals(-1, adapter.indexOf(3));
+    }
+
+    private static String format(NumberLabelFormat format, long scaled) {
+        char[] buffer = new char[format.maxLength(Math.abs(scaled))];
+        return new String(buffer, 0, format.format(scaled, buffer));
+    }
+}
@@ -0,0 +1,248 @@
+package com.view.picker;
+
+import android.os.Looper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Page requests of {@link PagedWheelAdapter}: which pages are loaded, in which order, and which are
+ * evicted, with the executor run by hand.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class PagedWheelAdapterTest {
+    private static final int ITEM_COUNT = 1000;
+    private static final int PAGE_SIZE = 10;
+
+    private final List<Runnable> mTasks = new ArrayList<>();
+    private final List<Integer> mRequestedStarts = new ArrayList<>();
+    private final List<Integer> mLoadedStarts = new ArrayList<>();
+    // loads that fail before the loader returns labels
+    private int mFailures;
+
+    private final Executor mExecutor = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            mTasks.add(command);
+        }
+    };
+
+    private final PagedWheelAdapter.PageLoader mLoader = new PagedWheelAdapter.PageLoader() {
+        @Override
+        public CharSequence[] loadPage(int start, int count) {
+            mRequestedStarts.add(start);
+            if (mFailures > 0) {
+                mFailures--;
+                throw new IllegalStateException("load failed");
+            }
+            CharSequence[] labels = new CharSequence[count];
+            for (int i = 0; i < count; i++) {
+                labels[i] = String.valueOf(start + i);
+            }
+            return labels;
+        }
+    };
+
+    private final PagedWheelAdapter.Callback mCallback = new PagedWheelAdapter.Callback() {
+        @Override
+        public void onPageLoaded(int start, int count) {
+            mLoadedStarts.add(start);
+        }
+    };
+
+    @Before
+    public void setUp() {
+        mTasks.clear();
+        mRequestedStarts.clear();
+        mLoadedStarts.clear();
+        mFailures = 0;
+    }
+
+    @Test
+    public void getItem_unloadedPage_returnsPlaceholderAndLoadsOnce() {
+        PagedWheelAdapter adapter = adapter(8);
+        adapter.setPlaceholder("-");
+
+        assertEquals("-", adapter.getItem(42));
+        assertEquals("-", adapter.getItem(45));
+        assertFalse(adapter.isLoaded(42));
+        assertEquals(1, mTasks.size());
+
+        runTasks();
+        assertEquals(Arrays.asList(40), mRequestedStarts);
+        assertEquals(Arrays.asList(40), mLoadedStarts);
+        assertTrue(adapter.isLoaded(42));
+        assertEquals("45", adapter.getItem(45));
+        assertEquals(0, mTasks.size());
+    }
+
+    @Test
+    public void prefetch_forward_loadsCenterThenAheadFirst() {
+        PagedWheelAdapter adapter = adapter(8);
+        // 100 items/s lead 30 items: items 45..85, pages 4..8
+        adapter.prefetch(50, 5, 100);
+        runTasks();
+        assertEquals(Arrays.asList(50, 60, 40, 70, 80), mRequestedStarts);
+    }
+
+    @Test
+    public void prefetch_backward_loadsCenterThenBehindFirst() {
+        PagedWheelAdapter adapter = adapter(8);
+        // items 15..55, pages 1..5
+        adapter.prefetch(50, 5, -100);
+        runTasks();
+        assertEquals(Arrays.asList(50, 40, 30, 20, 10), mRequestedStarts);
+    }
+
+    @Test
+    public void prefetch_atRest_requestsOnlyMissingPages() {
+        PagedWheelAdapter adapter = adapter(8);
+        adapter.prefetch(50, 5, 0);
+        runTasks();
+        assertEquals(Arrays.asList(50, 40), mRequestedStarts);
+
+        mRequestedStarts.clear();
+        adapter.prefetch(56, 5, 0);
+        runTasks();
+        assertEquals(Arrays.asList(60), mRequestedStarts);
+    }
+
+    @Test
+    public void prefetch_clampsToItemRange() {
+        PagedWheelAdapter adapter = adapter(8);
+        adapter.prefetch(ITEM_COUNT - 1, 5, 1000);
+        runTasks();
+        assertEquals(Arrays.asList(990), mRequestedStarts);
+        assertEquals("999", adapter.getItem(ITEM_COUNT - 1));
+    }
+
+    @Test
+    public void fullSlots_evictFarthestLoadedPage() {
+        PagedWheelAdapter adapter = adapter(3);
+        adapter.prefetch(10, 10, 0);
+        runTasks();
+        assertTrue(adapter.isLoaded(0));
+        assertTrue(adapter.isLoaded(10));
+        assertTrue(adapter.isLoaded(20));
+
+        mRequestedStarts.clear();
+        adapter.prefetch(100, 0, 0);
+        runTasks();
+        assertEquals(Arrays.asList(100), mRequestedStarts);
+        assertFalse(adapter.isLoaded(0));
+        assertTrue(adapter.isLoaded(10));
+        assertTrue(adapter.isLoaded(20));
+        assertTrue(adapter.isLoaded(100));
+    }
+
+    @Test
+    public void fullSlots_keepPendingPages() {
+        PagedWheelAdapter adapter = adapter(3);
+        adapter.prefetch(10, 10, 0);
+        assertEquals(3, mTasks.size());
+
+        adapter.prefetch(100, 0, 0);
+        assertEquals(3, mTasks.size());
+        runTasks();
+        assertEquals(Arrays.asList(10, 20, 0), mRequestedStarts);
+        assertFalse(adapter.isLoaded(100));
+    }
+
+    @Test
+    public void refresh_dropsPagesAndIgnoresStaleResults() {
+        PagedWheelAdapter adapter = adapter(8);
+        adapter.getItem(0);
+        runTasks();
+        adapter.getItem(10);
+
+        mLoadedStarts.clear();
+        adapter.refresh();
+        assertEquals(Arrays.asList(0), mLoadedStarts);
+        assertFalse(adapter.isLoaded(0));
+
+        mLoadedStarts.clear();
+        runTasks();
+        assertTrue(mLoadedStarts.isEmpty());
+        assertFalse(adapter.isLoaded(10));
+
+        adapter.getItem(10);
+        runTasks();
+        assertTrue(adapter.isLoaded(10));
+    }
+
+    @Test
+    public void failedLoad_isRequestedAgain() {
+        PagedWheelAdapter adapter = adapter(8);
+        adapter.setPlaceholder("-");
+        mFailures = 1;
+
+        assertEquals("-", adapter.getItem(42));
+        runTasks();
+        assertFalse(adapter.isLoaded(42));
+        assertTrue(mLoadedStarts.isEmpty());
+
+        assertEquals("-", adapter.getItem(42));
+        assertEquals(1, mTasks.size());
+        runTasks();
+        assertEquals(Arrays.asList(40, 40), mRequestedStarts);
+        assertEquals(Arrays.asList(40), mLoadedStarts);
+        assertEquals("42", adapter.getItem(42));
+    }
+
+    @Test
+    public void timedOutLoad_isRequestedAgain() {
+        PagedWheelAdapter adapter = adapter(8);
+        adapter.getItem(42);
+        // the loader never returns, its task is left unrun
+        Runnable hung = mTasks.remove(0);
+
+        idleFor(PagedWheelAdapter.PENDING_TIMEOUT_MS - 1);
+        adapter.getItem(42);
+        assertTrue(mTasks.isEmpty());
+
+        idleFor(1);
+        adapter.getItem(42);
+        assertEquals(1, mTasks.size());
+        runTasks();
+        assertTrue(adapter.isLoaded(42));
+
+        // a result of the abandoned request is dropped
+        mLoadedStarts.clear();
+        hung.run();
+        shadowOf(Looper.getMainLooper()).idle();
+        assertTrue(mLoadedStarts.isEmpty());
+    }
+
+    private PagedWheelAdapter adapter(int maxPages) {
+        PagedWheelAdapter adapter = new PagedWheelAdapter(ITEM_COUNT, PAGE_SIZE, maxPages, "0000",
+                mLoader, mExecutor);
+        adapter.setCallback(mCallback);
+        return adapter;
+    }
+
+    private void runTasks() {
+        while (!mTasks.isEmpty()) {
+            mTasks.remove(0).run();
+        }
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    private static void idleFor(long millis) {
+        shadowOf(Looper.getMainLooper()).idleFor(millis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,136 @@
+package com.view.picker;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Canvas that counts draw calls and paint state changes instead of drawing.
+ * <p>
+ * A state change is counted when a paint reaches a draw call with a different color, text size or
+ * stroke width than at its previous draw call in the same frame.
+ */
+class RecordingCanvas extends Canvas {
+    private final Map<Paint, float[]> mPaintStates = new IdentityHashMap<>();
+    private int mDrawOps;
+    private int mTextOps;
+    private int mStateChanges;
+
+    /**
+     * Forget the counts and paint states of the previous frame.
+     */
+    void beginFrame() {
+        mPaintStates.clear();
+        mDrawOps = 0;
+        mTextOps = 0;
+        mStateChanges = 0;
+    }
+
+    int getDrawOps() {
+        return mDrawOps;
+    }
+
+    int getTextOps() {
+        return mTextOps;
+    }
+
+    int getStateChanges() {
+        return mStateChanges;
+    }
+
+    private void record(Paint paint) {
+        mDrawOps++;
+        if (null == paint) {
+            return;
+        }
+        float[] state = mPaintStates.get(paint);
+        if (null == state) {
+            mPaintStates.put(paint, new float[]{paint.getColor(), paint.getTextSize(), paint.getStrokeWidth()});
+            return;
+        }
+        if (state[0] != paint.getColor() || state[1] != paint.getTextSize() || state[2] != paint.getStrokeWidth()) {
+            mStateChanges++;
+            state[0] = paint.getColor();
+            state[1] = paint.getTextSize();
+            state[2] = paint.getStrokeWidth();
+        }
+    }
+
+    private void recordText(Paint paint) {
+        mTextOps++;
+        record(paint);
+    }
+
+    @Override
+    public int save() {
+        return 1;
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+    }
+
+    @Override
+    public void restoreToCount(int saveCount) {
+    }
+
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        record(paint);
+    }
+
+    @Override
+    public void drawRect(RectF rect, Paint paint) {
+        record(paint);
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        record(paint);
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        record(paint);
+    }
+
+    @Override
+    public void drawLines(float[] pts, int offset, int count, Paint paint) {
+        record(paint);
+    }
+
+    @Override
+    public void drawLines(float[] pts, Paint paint) {
+        record(paint);
+    }
+
+    @Override
+    public void drawText(CharSequence text, int start, int end, float x, float y, Paint paint) {
+        recordText(paint);
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        recordText(paint);
+    }
+
+    @Override
+    public void drawText(String text, int start, int end, float x, float y, Paint paint) {
+        recordText(paint);
+    }
+
+    @Override
+    public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        recordText(paint);
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        record(paint);
+    }
+}
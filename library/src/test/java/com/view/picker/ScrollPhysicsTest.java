@@ -0,0 +1,166 @@
+package com.view.picker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Steps the physics with fixed time steps on the plain JVM.
+ */
+public class ScrollPhysicsTest {
+    private static final float DT = WheelScroller.STEP_SECONDS;
+    private static final int MAX_STEPS = 10 * 240;
+
+    @Test
+    public void decay_landsOnTarget() {
+        assertLandsOnTarget(new DecayPhysics(), 0, 6000, 2000);
+        assertLandsOnTarget(new DecayPhysics(), 500, -3000, -800);
+        // too slow to get there, the velocity is raised
+        assertLandsOnTarget(new DecayPhysics(), 0, 10, 1500);
+        // moving away from the target
+        assertLandsOnTarget(new DecayPhysics(), 0, -2000, 300);
+    }
+
+    @Test
+    public void friction_landsOnTarget() {
+        assertLandsOnTarget(new FrictionPhysics(), 0, 6000, 3000);
+        assertLandsOnTarget(new FrictionPhysics(), 100, -5000, -1900);
+        assertLandsOnTarget(new FrictionPhysics(), 0, 0, 250);
+    }
+
+    @Test
+    public void spring_settlesOnTarget() {
+        assertLandsOnTarget(new SpringPhysics(), 0, 0, 120);
+        // takes over a fast motion that overshoots the target
+        assertLandsOnTarget(new SpringPhysics(), 0, 4000, 60);
+        assertLandsOnTarget(new SpringPhysics(), 37.4f, -800, 0);
+    }
+
+    @Test
+    public void flingDistance_matchesUnadjustedMotion() {
+        DecayPhysics decay = new DecayPhysics();
+        double distance = decay.flingDistance(4500);
+        assertEquals(4500 / DecayPhysics.DEFAULT_FRICTION, distance, 0.001f);
+        // a target at the natural distance needs no adjustment of the start velocity
+        decay.start(0, 4500, distance);
+        assertEquals(4500, decay.getVelocity(), 0.01f);
+
+        FrictionPhysics friction = new FrictionPhysics();
+        assertEquals(-friction.flingDistance(3000), friction.flingDistance(-3000), 0.001f);
+        friction.start(0, 3000, friction.flingDistance(3000));
+        assertEquals(3000, friction.getVelocity(), 0.01f);
+    }
+
+    @Test
+    public void steps_areDeterministic() {
+        assertArrayEquals(trace(new DecayPhysics()), trace(new DecayPhysics()), 0f);
+        assertArrayEquals(trace(new SpringPhysics()), trace(new SpringPhysics()), 0f);
+        assertArrayEquals(trace(new FrictionPhysics()), trace(new FrictionPhysics()), 0f);
+    }
+
+    @Test
+    public void closedFormSteps_doNotDependOnStepSize() {
+        ScrollPhysics[] fine = {new DecayPhysics(), new SpringPhysics(), new FrictionPhysics()};
+        ScrollPhysics[] coarse = {new DecayPhysics(), new SpringPhysics(), new FrictionPhysics()};
+        for (int p = 0; p < fine.length; p++) {
+            fine[p].start(0, 2500, 700);
+            coarse[p].start(0, 2500, 700);
+            for (int i = 0; i < 60; i++) {
+                fine[p].step(DT);
+            }
+            for (int i = 0; i < 15; i++) {
+                coarse[p].step(DT * 4);
+            }
+            assertEquals(fine[p].getClass().getSimpleName(), fine[p].getPosition(), coarse[p].getPosition(), 0.05f);
+        }
+    }
+
+    @Test
+    public void offset_movesTheWholeMotion() {
+        DecayPhysics shifted = new DecayPhysics();
+        DecayPhysics reference = new DecayPhysics();
+        shifted.start(0, 3000, 900);
+        reference.start(0, 3000, 900);
+        for (int i = 0; i < 30; i++) {
+            shifted.step(DT);
+            reference.step(DT);
+        }
+        shifted.offset(-5000);
+        for (int i = 0; i < 30; i++) {
+            shifted.step(DT);
+            reference.step(DT);
+        }
+        assertEquals(reference.getPosition() - 5000, shifted.getPosition(), 0.01f);
+        assertEquals(reference.getVelocity(), shifted.getVelocity(), 0.01f);
+    }
+
+    @Test
+    public void farPositions_keepSubPixelSteps() {
+        // item 10^7 at a 555 px interval, where a float steps by 512 px
+        double start = 555.0 * 10000000;
+        SpringPhysics spring = new SpringPhysics();
+        spring.start(start, 0, start + 12);
+        spring.step(DT);
+        assertTrue(spring.getPosition() > start && spring.getPosition() < start + 12);
+        assertLandsOnTarget(new DecayPhysics(), start, 3000, start + 555);
+    }
+
+    @Test
+    public void scroller_stepsWithFixedTimeSteps() {
+        WheelScroller scroller = new WheelScroller();
+        long now = 1000000000L;
+        double target = scroller.predictFling(0, 6000);
+        scroller.fling(0, 6000, target, now);
+        assertTrue(scroller.isFling());
+
+        // an uneven frame rhythm advances in whole steps only
+        now += WheelScroller.STEP_NANOS * 3 + WheelScroller.STEP_NANOS / 2;
+        assertTrue(scroller.computeScrollOffset(now));
+        DecayPhysics reference = new DecayPhysics();
+        reference.start(0, 6000, target);
+        for (int i = 0; i < 3; i++) {
+            reference.step(DT);
+        }
+        assertEquals(reference.getPosition(), scroller.getPosition(), 0f);
+
+        int frames = 0;
+        while (scroller.computeScrollOffset(now += 16666667L)) {
+            frames++;
+            assertTrue("fling never ends", frames < MAX_STEPS);
+        }
+        assertTrue(scroller.isFinished());
+        assertEquals(target, scroller.getPosition(), 0f);
+
+        // a snap takes over from where the scroller is
+        scroller.snap(scroller.getPosition(), target + 40, now);
+        assertFalse(scroller.isFling());
+        while (scroller.computeScrollOffset(now += 16666667L)) {
+            assertTrue("snap never ends", ++frames < MAX_STEPS);
+        }
+        assertEquals(target + 40, scroller.getPosition(), 0f);
+    }
+
+    private static void assertLandsOnTarget(ScrollPhysics physics, double position, double velocity, double target) {
+        physics.start(position, velocity, target);
+        int steps = 0;
+        while (physics.step(DT)) {
+            assertTrue(physics.getClass().getSimpleName() + " never comes to rest", ++steps < MAX_STEPS);
+        }
+        assertTrue(physics.isFinished());
+        assertEquals(target, physics.getPosition(), 0f);
+        assertEquals(0, physics.getVelocity(), 0f);
+    }
+
+    private static double[] trace(ScrollPhysics physics) {
+        double[] positions = new double[200];
+        physics.start(-120, 3200, 1400);
+        for (int i = 0; i < positions.length; i++) {
+            physics.step(DT);
+            positions[i] = physics.getPosition();
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,79 @@
+package com.view.picker;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Shared width cache of a {@link WheelGroup}: labels measured once across wheels, and large lists
+ * measured no slower than without a group, on the plain JVM.
+ */
+public class TextWidthCacheTest {
+    private static final float TEXT_SIZE = 42;
+
+    @Test
+    public void groupedWheels_measureSharedLabelsOnce() {
+        TextWidthCache cache = new TextWidthCache();
+        CountingMeasurer measurer = new CountingMeasurer();
+        ListWheelAdapter adapter = new ListWheelAdapter(labels(0, 31));
+
+        LabelWidths.measure(adapter, 0, 31, TEXT_SIZE, cache, measurer);
+        int[] widths = LabelWidths.measure(adapter, 0, 31, TEXT_SIZE, cache, measurer);
+
+        assertEquals(31, measurer.mCalls);
+        assertEquals(2 * 10, widths[10]);
+    }
+
+    @Test
+    public void rangeLargerThanCache_skipsCache() {
+        TextWidthCache cache = new TextWidthCache();
+        CountingMeasurer measurer = new CountingMeasurer();
+        int count = TextWidthCache.MAX_ENTRIES * 10;
+        ListWheelAdapter adapter = new ListWheelAdapter(labels(0, count));
+
+        LabelWidths.measure(adapter, 0, count, TEXT_SIZE, cache, measurer);
+
+        // measured exactly like an ungrouped wheel, without filling or looking up the cache
+        assertEquals(count, measurer.mCalls);
+        assertEquals(0, cache.size(TEXT_SIZE));
+    }
+
+    @Test
+    public void fullCache_keepsItsEntries() {
+        TextWidthCache cache = new TextWidthCache();
+        CountingMeasurer measurer = new CountingMeasurer();
+        int count = TextWidthCache.MAX_ENTRIES;
+        ListWheelAdapter small = new ListWheelAdapter(labels(0, count));
+        ListWheelAdapter other = new ListWheelAdapter(labels(count, count));
+
+        LabelWidths.measure(small, 0, count, TEXT_SIZE, cache, measurer);
+        LabelWidths.measure(other, 0, count, TEXT_SIZE, cache, measurer);
+        assertEquals(count, cache.size(TEXT_SIZE));
+
+        // the first list is still cached, loading the second didn't wipe it
+        measurer.mCalls = 0;
+        LabelWidths.measure(small, 0, count, TEXT_SIZE, cache, measurer);
+        assertEquals(0, measurer.mCalls);
+    }
+
+    private static List<String> labels(int first, int count) {
+        List<String> labels = new ArrayList<>();
+        for (int i = first; i < first + count; i++) {
+            labels.add(String.valueOf(i));
+        }
+        return labels;
+    }
+
+    private static final class CountingMeasurer implements LabelWidths.Measurer {
+        int mCalls;
+
+        @Override
+        public int measure(String text) {
+            mCalls++;
+            return text.length() * 10;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.view.picker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Title index bookkeeping for inserted and removed item ranges on the plain JVM.
+ */
+public class TitleIndexTest {
+
+    @Test
+    public void shift_movesTitlesAtAndAfterIndex() {
+        TitleIndex titles = titles(0, 5, 10);
+        titles.shift(5, 3);
+        assertKeys(titles, 0, 8, 13);
+        assertEquals("5", titles.get(8));
+        assertNull(titles.get(5));
+    }
+
+    @Test
+    public void shift_betweenTitles_keepsEarlierOnes() {
+        TitleIndex titles = titles(0, 5, 10);
+        titles.shift(6, 2);
+        assertKeys(titles, 0, 5, 12);
+    }
+
+    @Test
+    public void removeRange_dropsTitlesInsideAndMovesLaterOnesDown() {
+        TitleIndex titles = titles(0, 3, 5, 7, 10);
+        titles.removeRange(3, 8);
+        assertKeys(titles, 0, 5);
+        assertEquals("0", titles.get(0));
+        assertEquals("10", titles.get(5));
+        assertNull(titles.valueAt(2));
+    }
+
+    @Test
+    public void removeRange_withoutTitlesInside_onlyShifts() {
+        TitleIndex titles = titles(0, 10);
+        titles.removeRange(2, 6);
+        assertKeys(titles, 0, 6);
+    }
+
+    @Test
+    public void removeRange_atEnd_dropsTail() {
+        TitleIndex titles = titles(0, 4, 8);
+        titles.removeRange(4, 9);
+        assertKeys(titles, 0);
+        assertEquals(1, titles.ceilingSlot(4));
+    }
+
+    @Test
+    public void removeRange_everything_leavesEmptyIndex() {
+        TitleIndex titles = titles(1, 2, 3);
+        titles.removeRange(0, 4);
+        assertEquals(0, titles.size());
+        titles.put(0, "again");
+        assertKeys(titles, 0);
+    }
+
+    private static TitleIndex titles(int... keys) {
+        TitleIndex titles = new TitleIndex();
+        for (int key : keys) {
+            titles.put(key, String.valueOf(key));
+        }
+        return titles;
+    }
+
+    private static void assertKeys(TitleIndex titles, int... keys) {
+        assertEquals(keys.length, titles.size());
+        for (int slot = 0; slot < keys.length; slot++) {
+            assertEquals(keys[slot], titles.keyAt(slot));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.view.picker;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Proportional spacing: prefix sums and hit-testing against a linear scan on the plain JVM.
+ */
+public class WheelLayoutTest {
+    private static final float DELTA = 1e-3f;
+
+    @Test
+    public void slotOffsets_matchLinearSums() {
+        Random random = new Random(7);
+        float[] widths = randomWidths(random, 1000);
+        float[] copy = widths.clone();
+        SlotOffsets slots = new SlotOffsets();
+        slots.load(copy, copy.length);
+        for (int round = 0; round < 200; round++) {
+            int index = random.nextInt(widths.length);
+            widths[index] = 20 + random.nextInt(200);
+            slots.set(index, widths[index]);
+        }
+        double sum = 0;
+        for (int i = 0; i < widths.length; i++) {
+            assertEquals(sum, slots.prefix(i), DELTA);
+            assertEquals(i, slots.search(sum));
+            assertEquals(i, slots.search(sum + widths[i] - 0.5));
+            sum += widths[i];
+        }
+        assertEquals(sum, slots.total(), DELTA);
+        assertEquals(0, slots.search(-10));
+        assertEquals(widths.length - 1, slots.search(sum + 10));
+    }
+
+    @Test
+    public void proportional_positionsRoundTrip() {
+        float[] widths = {60, 180, 60, 90, 120};
+        WheelLayout layout = proportionalLayout(widths);
+
+        assertEquals(0, layout.xOf(0), DELTA);
+        assertEquals(120, layout.xOf(1), DELTA);
+        assertEquals(240, layout.xOf(2), DELTA);
+        assertEquals(centerOf(widths, 4), layout.getContentWidth(), DELTA);
+        for (int i = 0; i < widths.length; i++) {
+            double scrollX = layout.scrollXOf(i);
+            assertEquals(i, layout.positionAt(scrollX));
+            // anywhere inside the slot still hits the item
+            assertEquals(i, layout.positionAt(scrollX - widths[i] / 2 + 1));
+            assertEquals(i, layout.positionAt(scrollX + widths[i] / 2 - 1));
+            assertEquals(i, layout.itemIndexAt(layout.xOf(i)));
+        }
+        // past the ends positions continue at the width of the edge item
+        assertEquals(-60, layout.xOf(-1), DELTA);
+        assertEquals(-1, layout.itemIndexAt(-60));
+        assertEquals(layout.minScrollX(), layout.scrollXOf(0), DELTA);
+        assertEquals(layout.maxScrollX(), layout.scrollXOf(4), DELTA);
+    }
+
+    @Test
+    public void proportional_loopWrapsByPeriod() {
+        float[] widths = {60, 180, 60, 90, 120};
+        WheelLayout layout = proportionalLayout(widths);
+        layout.setLoop(true);
+        float period = 60 + 180 + 60 + 90 + 120;
+
+        assertEquals(period, layout.xOf(5), DELTA);
+        assertEquals(period + 120, layout.xOf(6), DELTA);
+        assertEquals(-period + layout.xOf(4), layout.xOf(-1), DELTA);
+        assertEquals(6, layout.positionAt(layout.scrollXOf(6)));
+        assertEquals(-1, layout.positionAt(layout.scrollXOf(-1)));
+        assertEquals(1, layout.itemIndexAt(layout.xOf(6)));
+        assertEquals(5, layout.loopShift(layout.scrollXOf(7)));
+        assertEquals(period, layout.xOf(layout.loopShift(layout.scrollXOf(7))), DELTA);
+    }
+
+    @Test
+    public void proportional_withoutWidthsUsesInterval() {
+        WheelLayout layout = new WheelLayout();
+        layout.setItemCount(5);
+        layout.setIntervalDis(100);
+        layout.setMaxOverScrollDistance(500);
+        layout.setProportional(true);
+        // no widths measured yet
+        assertEquals(300, layout.xOf(3), DELTA);
+        assertEquals(3, layout.positionAt(layout.scrollXOf(3)));
+        assertEquals(100, layout.slotWidth(2), DELTA);
+    }
+
+    @Test
+    public void farOffsets_keepSubPixelPrecision() {
+        WheelLayout layout = new WheelLayout();
+        layout.setItemCount(10000000);
+        layout.setIntervalDis(555);
+        layout.setMaxOverScrollDistance(540);
+        int index = 9999990;
+        double scrollX = layout.scrollXOf(index);
+        // a small drag moves the offset by exactly its distance
+        assertEquals(12, (scrollX + 12) - scrollX, 0);
+        assertEquals(index, layout.positionAt(scrollX + 12));
+        assertEquals(index + 1, layout.positionAt(scrollX + 555 / 2 + 1));
+
+        float[] widths = randomWidths(new Random(3), 1000000);
+        layout.setItemCount(widths.length);
+        layout.setMaxSelectableIndex(widths.length - 1);
+        layout.setProportional(true);
+        layout.setSlotWidths(widths, widths.length);
+        index = widths.length - 10;
+        scrollX = layout.scrollXOf(index);
+        assertEquals(index, layout.positionAt(scrollX + widths[index] / 2 - 0.5f));
+        assertEquals(index + 1, layout.positionAt(scrollX + widths[index] / 2 + 0.5f));
+    }
+
+    private static WheelLayout proportionalLayout(float[] widths) {
+        WheelLayout layout = new WheelLayout();
+        layout.setItemCount(widths.length);
+        layout.setIntervalDis(180);
+        layout.setMaxOverScrollDistance(500);
+        layout.setProportional(true);
+        layout.setSlotWidths(widths.clone(), widths.length);
+        return layout;
+    }
+
+    /**
+     * @return center of item i with item 0 centered at 0
+     */
+    private static float centerOf(float[] widths, int i) {
+        float x = 0;
+        for (int j = 0; j < i; j++) {
+            x += widths[j] / 2 + widths[j + 1] / 2;
+        }
+        return x;
+    }
+
+    private static float[] randomWidths(Random random, int count) {
+        float[] widths = new float[count];
+        for (int i = 0; i < count; i++) {
+            widths[i] = 20 + random.nextInt(200);
+        }
+        return widths;
+    }
+}
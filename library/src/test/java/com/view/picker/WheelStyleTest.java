@@ -0,0 +1,56 @@
+package com.view.picker;
+
+import android.content.Context;
+import android.util.AttributeSet;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Style cache keys: a picker created in code and one inflated without a style attribute resolve the
+ * theme differently, so whichever comes first must not decide the style of the other.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class WheelStyleTest {
+    private Context mContext;
+
+    @Before
+    public void setUp() {
+        WheelStyle.clearCache();
+        mContext = ApplicationProvider.getApplicationContext();
+    }
+
+    @Test
+    public void codeThenXml_resolveSeparately() {
+        WheelStyle code = WheelStyle.obtain(mContext, null);
+        WheelStyle xml = WheelStyle.obtain(mContext, unstyledAttrs());
+
+        assertNotSame(code, xml);
+        assertSame(code, WheelStyle.obtain(mContext, null));
+        assertSame(xml, WheelStyle.obtain(mContext, unstyledAttrs()));
+    }
+
+    @Test
+    public void xmlThenCode_resolveSeparately() {
+        WheelStyle xml = WheelStyle.obtain(mContext, unstyledAttrs());
+        WheelStyle code = WheelStyle.obtain(mContext, null);
+
+        assertNotSame(xml, code);
+        assertSame(xml, WheelStyle.obtain(mContext, unstyledAttrs()));
+        assertSame(code, WheelStyle.obtain(mContext, null));
+    }
+
+    private static AttributeSet unstyledAttrs() {
+        return Robolectric.buildAttributeSet().build();
+    }
+}